@@ -0,0 +1,171 @@
+package com.community.benchmark;
+
+import com.community.entity.Article;
+import com.community.entity.ArticleContent;
+import com.community.utils.ContentCodec;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 正文与文章元数据同表存放（inline）和压缩后单独存放（compressed）的对比，使用H2内存库
+ *
+ * feed 按首页查询的条件读取 articles 表的整行，结束时输出每次查询读到的字节数（各列按文本计算），对应存储引擎扫描的行数据量；
+ * detail 读取单篇正文，compressed 布局包含解压的开销。模拟正文重复度高，压缩率偏乐观。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleContentBenchmark {
+
+    private static final int TOTAL_ARTICLES = 1000;
+    private static final int FEED_SIZE = 20;
+
+    @Param({"inline", "compressed"})
+    private String layout;
+
+    @Param({"2000", "20000"})
+    private int contentLength;
+
+    private Connection connection;
+    private PreparedStatement feedStatement;
+    private PreparedStatement detailStatement;
+    private long feedBytes;
+    private long feedRequests;
+    private long detailId;
+
+    @Setup
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:content-" + layout + "-" + contentLength
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        connection = dataSource.getConnection();
+        try (Reader schema = Resources.getResourceAsReader("benchmark-schema.sql")) {
+            ScriptRunner runner = new ScriptRunner(connection);
+            runner.setLogWriter(null);
+            runner.runScript(schema);
+        }
+        insertData();
+        connection.commit();
+
+        feedStatement = connection.prepareStatement(
+                "SELECT * FROM articles WHERE status = 'PUBLISHED' ORDER BY created_at DESC, id DESC LIMIT " + FEED_SIZE);
+        detailStatement = "inline".equals(layout)
+                ? connection.prepareStatement("SELECT content FROM articles WHERE id = ?")
+                : connection.prepareStatement(
+                        "SELECT article_id, codec, dictionary_id, raw_length, data FROM article_contents WHERE article_id = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        System.out.println();
+        System.out.println("layout=" + layout + " contentLength=" + contentLength
+                + "：每次首页查询读取 " + (feedRequests == 0 ? 0 : feedBytes / feedRequests) + " 字节");
+        connection.close();
+    }
+
+    @Benchmark
+    public long feed() throws Exception {
+        long bytes = 0;
+        try (ResultSet rs = feedStatement.executeQuery()) {
+            ResultSetMetaData meta = rs.getMetaData();
+            while (rs.next()) {
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    String value = rs.getString(i);
+                    bytes += value == null ? 0 : value.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+        }
+        feedBytes += bytes;
+        feedRequests++;
+        return bytes;
+    }
+
+    @Benchmark
+    public String detail() throws Exception {
+        detailId = detailId % TOTAL_ARTICLES + 1;
+        detailStatement.setLong(1, detailId);
+        try (ResultSet rs = detailStatement.executeQuery()) {
+            rs.next();
+            if ("inline".equals(layout)) {
+                return rs.getString(1);
+            }
+            ArticleContent content = new ArticleContent();
+            content.setArticleId(rs.getLong(1));
+            content.setCodec(rs.getInt(2));
+            content.setDictionaryId(rs.getInt(3));
+            content.setRawLength(rs.getInt(4));
+            content.setData(rs.getBytes(5));
+            return ContentCodec.decode(content);
+        }
+    }
+
+    private void insertData() throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO users (username, email, password) VALUES (?, ?, ?)")) {
+            for (int i = 1; i <= 5; i++) {
+                ps.setString(1, "author" + i);
+                ps.setString(2, "author" + i + "@example.com");
+                ps.setString(3, "e10adc3949ba59abbe56e057f20f883e");
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        List<Article> articles = BenchmarkData.articles(TOTAL_ARTICLES, contentLength);
+        boolean inline = "inline".equals(layout);
+        if (!inline) {
+            List<String> samples = new ArrayList<>();
+            for (Article article : articles.subList(0, 200)) {
+                samples.add(article.getContent());
+            }
+            ContentCodec.registerDictionary(1, ContentCodec.trainDictionary(samples, 16384));
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO articles (id, title, content, summary, author_id, status, view_count, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement contents = connection.prepareStatement(
+                     "INSERT INTO article_contents (article_id, codec, dictionary_id, raw_length, data) VALUES (?, ?, ?, ?, ?)")) {
+            for (Article article : articles) {
+                ps.setLong(1, article.getId());
+                ps.setString(2, article.getTitle());
+                ps.setString(3, inline ? article.getContent() : null);
+                ps.setString(4, article.getSummary());
+                ps.setLong(5, article.getAuthorId());
+                ps.setString(6, article.getStatus());
+                ps.setInt(7, article.getViewCount());
+                ps.setObject(8, article.getCreatedAt());
+                ps.setObject(9, article.getUpdatedAt());
+                ps.addBatch();
+                if (!inline) {
+                    ArticleContent content = ContentCodec.encode(article.getId(), article.getContent(), 1);
+                    contents.setLong(1, content.getArticleId());
+                    contents.setInt(2, content.getCodec());
+                    contents.setInt(3, content.getDictionaryId());
+                    contents.setInt(4, content.getRawLength());
+                    contents.setBytes(5, content.getData());
+                    contents.addBatch();
+                }
+            }
+            ps.executeBatch();
+            contents.executeBatch();
+        }
+    }
+}
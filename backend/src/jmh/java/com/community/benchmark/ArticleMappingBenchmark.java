@@ -0,0 +1,114 @@
+package com.community.benchmark;
+
+import com.community.dto.ArticleListFields;
+import com.community.dto.ArticleListItem;
+import com.community.entity.Article;
+import com.community.mapper.ArticleMapper;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ArticleMapper 查询及 ArticleWithAuthorResultMap 结果映射，使用H2内存库（MySQL兼容模式）代替MySQL
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleMappingBenchmark {
+    
+    private static final int TOTAL_ARTICLES = 1000;
+    
+    @Param({"20", "100", "500"})
+    private int rows;
+    
+    private Connection keepAlive;
+    private SqlSession session;
+    private ArticleMapper articleMapper;
+    
+    @Setup
+    public void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        keepAlive = dataSource.getConnection();
+        try (Reader schema = Resources.getResourceAsReader("benchmark-schema.sql")) {
+            ScriptRunner runner = new ScriptRunner(keepAlive);
+            runner.setLogWriter(null);
+            runner.runScript(schema);
+        }
+        insertData(keepAlive);
+        keepAlive.commit();
+        
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        // 关闭会话级缓存，保证每次调用都执行查询和映射
+        configuration.setLocalCacheScope(LocalCacheScope.STATEMENT);
+        String resource = "mapper/ArticleMapper.xml";
+        try (InputStream in = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        session = new SqlSessionFactoryBuilder().build(configuration).openSession();
+        articleMapper = session.getMapper(ArticleMapper.class);
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        session.close();
+        keepAlive.close();
+    }
+    
+    @Benchmark
+    public List<ArticleListItem> findPublishedArticles() {
+        return articleMapper.findPublishedArticles(ArticleListFields.ALL.getColumns(), rows);
+    }
+
+    
+    private static void insertData(Connection connection) throws Exception {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO users (username, email, password, avatar, bio) VALUES (?, ?, ?, ?, ?)")) {
+            for (int i = 1; i <= 5; i++) {
+                ps.setString(1, "author" + i);
+                ps.setString(2, "author" + i + "@example.com");
+                ps.setString(3, "e10adc3949ba59abbe56e057f20f883e");
+                ps.setString(4, "https://example.com/avatar/" + i + ".png");
+                ps.setString(5, BenchmarkData.content(200));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO articles (title, content, summary, author_id, status, view_count) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (Article article : BenchmarkData.articles(TOTAL_ARTICLES, 2000)) {
+                ps.setString(1, article.getTitle());
+                ps.setString(2, article.getContent());
+                ps.setString(3, article.getSummary());
+                ps.setLong(4, article.getAuthorId());
+                ps.setString(5, article.getStatus());
+                ps.setInt(6, article.getViewCount());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+}
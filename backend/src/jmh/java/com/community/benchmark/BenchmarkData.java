@@ -0,0 +1,64 @@
+package com.community.benchmark;
+
+import com.community.entity.Article;
+import com.community.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 基准测试用的模拟数据
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class BenchmarkData {
+    
+    private static final String SAMPLE = "交流社区是一个分享技术与生活的平台。Spring Boot + MyBatis + MySQL，"
+            + "欢迎大家积极参与讨论和分享。The quick brown fox jumps over the lazy dog. ";
+    
+    /**
+     * 生成指定长度的正文（中英文混排）
+     */
+    public static String content(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            sb.append(SAMPLE);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+    
+    /**
+     * 生成带作者信息的文章列表，作者数量固定为5
+     */
+    public static List<Article> articles(int count, int contentLength) {
+        Random random = new Random(42);
+        List<User> authors = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            User author = new User("author" + i, "author" + i + "@example.com", null);
+            author.setId((long) i);
+            author.setAvatar("https://example.com/avatar/" + i + ".png");
+            author.setBio(content(200));
+            authors.add(author);
+        }
+        
+        LocalDateTime now = LocalDateTime.of(2024, 12, 1, 12, 0);
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User author = authors.get(i % authors.size());
+            Article article = new Article("文章标题 " + i, content(contentLength), author.getId());
+            article.setId((long) (count - i));
+            article.setSummary(content(100) + "...");
+            article.setStatus("PUBLISHED");
+            article.setViewCount(random.nextInt(10000));
+            article.setCreatedAt(now.minusMinutes(i));
+            article.setUpdatedAt(now.minusMinutes(i));
+            article.setAuthor(author);
+            articles.add(article);
+        }
+        return articles;
+    }
+}
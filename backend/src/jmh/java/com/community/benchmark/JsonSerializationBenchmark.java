@@ -0,0 +1,53 @@
+package com.community.benchmark;
+
+import com.community.dto.ApiResponse;
+import com.community.entity.Article;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiResponse&lt;List&lt;Article&gt;&gt; 的JSON序列化（与 application.yml 中的Jackson配置一致）
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonSerializationBenchmark {
+    
+    @Param({"20", "100", "500"})
+    private int listSize;
+    
+    @Param({"2000"})
+    private int contentLength;
+    
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<Article>> response;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = new Jackson2ObjectMapperBuilder()
+                .simpleDateFormat("yyyy-MM-dd HH:mm:ss")
+                .timeZone("GMT+8")
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        response = ApiResponse.success(BenchmarkData.articles(listSize, contentLength));
+    }
+    
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,40 @@
+package com.community.benchmark;
+
+import com.community.utils.PasswordUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 密码加密与校验（注册、登录）
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PasswordBenchmark {
+    
+    private String password;
+    private String encoded;
+    
+    @Setup
+    public void setUp() {
+        password = "123456abc";
+        encoded = PasswordUtil.encryptPassword(password);
+    }
+    
+    @Benchmark
+    public String encryptPassword() {
+        return PasswordUtil.encryptPassword(password);
+    }
+    
+    @Benchmark
+    public boolean matches() {
+        return PasswordUtil.matches(password, encoded);
+    }
+}
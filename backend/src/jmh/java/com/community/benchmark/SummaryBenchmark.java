@@ -0,0 +1,36 @@
+package com.community.benchmark;
+
+import com.community.utils.SummaryUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章摘要生成（publishArticle、updateArticle 中未填写摘要时执行）
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SummaryBenchmark {
+    
+    @Param({"80", "2000", "50000"})
+    private int contentLength;
+    
+    private String content;
+    
+    @Setup
+    public void setUp() {
+        content = BenchmarkData.content(contentLength);
+    }
+    
+    @Benchmark
+    public String generateSummary() {
+        return SummaryUtil.generate(content);
+    }
+}
@@ -0,0 +1,39 @@
+-- 基准测试用的H2表结构（对应 database/init.sql）
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    avatar VARCHAR(255),
+    bio TEXT,
+    version INT NOT NULL DEFAULT 0,
+    word_count INT,
+    reading_minutes INT,
+    cover_image VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS articles (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    title VARCHAR(200) NOT NULL,
+    content LONGTEXT,
+    summary TEXT,
+    author_id BIGINT NOT NULL,
+    status VARCHAR(20) DEFAULT 'DRAFT',
+    view_count INT DEFAULT 0,
+    version INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS article_contents (
+    article_id BIGINT PRIMARY KEY,
+    codec TINYINT NOT NULL,
+    dictionary_id INT NOT NULL DEFAULT 0,
+    raw_length INT NOT NULL,
+    data BLOB NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_articles_status_created_at ON articles(status, created_at, id);
@@ -0,0 +1,62 @@
+package com.community;
+
+import com.community.dto.ImportResult;
+import com.community.service.ImportService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 批量导入命令行入口
+ * 
+ * 参数：导入类型（users 或 articles）、NDJSON文件（.gz 结尾时按gzip读取）、任务ID（可选，默认取文件名）。
+ * 失败后使用相同的任务ID重新运行，从上次的检查点继续。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class CommunityImportApplication {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("用法: CommunityImportApplication <users|articles> <文件.ndjson[.gz]> [任务ID]");
+            System.exit(2);
+        }
+        String type = args[0];
+        String file = args[1];
+        String jobId = args.length > 2 ? args[2] : Paths.get(file).getFileName().toString().replaceAll("[^A-Za-z0-9_.-]", "_");
+        
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(CommunityApplication.class)
+                .web(WebApplicationType.NONE)
+                .run();
+        int exitCode = 0;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(Paths.get(file)), 64 * 1024);
+             InputStream in = file.endsWith(".gz") ? new GZIPInputStream(raw, 64 * 1024) : raw) {
+            ImportService importService = context.getBean(ImportService.class);
+            ImportResult result;
+            if (ImportService.TYPE_USERS.equals(type)) {
+                result = importService.importUsers(in, jobId);
+            } else if (ImportService.TYPE_ARTICLES.equals(type)) {
+                result = importService.importArticles(in, jobId);
+            } else {
+                throw new IllegalArgumentException("不支持的导入类型：" + type);
+            }
+            System.out.printf("导入完成：插入 %d 行，跳过 %d 行，无效 %d 行，耗时 %d ms，%.0f 行/秒%n",
+                    result.getInserted(), result.getSkipped(), result.getInvalid(),
+                    result.getElapsedMillis(), result.getRowsPerSecond());
+            result.getErrors().forEach(System.out::println);
+        } catch (Exception e) {
+            System.err.println("导入失败，使用相同的任务ID重新运行可从检查点继续：" + e.getMessage());
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
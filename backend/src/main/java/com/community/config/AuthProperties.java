@@ -0,0 +1,88 @@
+package com.community.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 认证配置
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "community.auth")
+public class AuthProperties {
+    
+    public static final String MODE_SESSION = "session";
+    public static final String MODE_TOKEN = "token";
+    
+    private String mode = MODE_SESSION;  // session：基于HttpSession；token：无状态签名令牌
+    private Token token = new Token();
+    
+    public boolean isTokenMode() {
+        return MODE_TOKEN.equalsIgnoreCase(mode);
+    }
+    
+    // Getter和Setter方法
+    public String getMode() {
+        return mode;
+    }
+    
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+    
+    public Token getToken() {
+        return token;
+    }
+    
+    public void setToken(Token token) {
+        this.token = token;
+    }
+    
+    /**
+     * 签名令牌配置
+     */
+    public static class Token {
+        
+        private String activeKeyId;                           // 签发新令牌使用的密钥ID
+        private Map<String, String> keys = new LinkedHashMap<>();  // 密钥ID -> 密钥，均可用于校验
+        private long ttlSeconds = 7 * 24 * 3600;
+        private String cookieName = "COMMUNITY_TOKEN";
+        
+        public String getActiveKeyId() {
+            return activeKeyId;
+        }
+        
+        public void setActiveKeyId(String activeKeyId) {
+            this.activeKeyId = activeKeyId;
+        }
+        
+        public Map<String, String> getKeys() {
+            return keys;
+        }
+        
+        public void setKeys(Map<String, String> keys) {
+            this.keys = keys;
+        }
+        
+        public long getTtlSeconds() {
+            return ttlSeconds;
+        }
+        
+        public void setTtlSeconds(long ttlSeconds) {
+            this.ttlSeconds = ttlSeconds;
+        }
+        
+        public String getCookieName() {
+            return cookieName;
+        }
+        
+        public void setCookieName(String cookieName) {
+            this.cookieName = cookieName;
+        }
+    }
+}
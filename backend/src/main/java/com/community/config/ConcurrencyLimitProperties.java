@@ -0,0 +1,113 @@
+package com.community.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 自适应并发限制配置
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "community.limit")
+public class ConcurrencyLimitProperties {
+    
+    private boolean enabled = true;
+    private double tolerance = 1.5;     // 短期延迟在长期延迟的多少倍以内视为正常
+    private double smoothing = 0.2;     // 每次调整的平滑系数
+    private int retryAfterSeconds = 1;  // 拒绝时建议客户端等待的秒数
+    private LimitClass read = new LimitClass(50, 10, 150);
+    private LimitClass write = new LimitClass(20, 4, 40);
+    
+    // Getter和Setter方法
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public double getTolerance() {
+        return tolerance;
+    }
+    
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+    
+    public double getSmoothing() {
+        return smoothing;
+    }
+    
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+    
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+    
+    public void setRetryAfterSeconds(int retryAfterSeconds) {
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    public LimitClass getRead() {
+        return read;
+    }
+    
+    public void setRead(LimitClass read) {
+        this.read = read;
+    }
+    
+    public LimitClass getWrite() {
+        return write;
+    }
+    
+    public void setWrite(LimitClass write) {
+        this.write = write;
+    }
+    
+    /**
+     * 一类请求的并发上限范围
+     */
+    public static class LimitClass {
+        
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        
+        public LimitClass() {}
+        
+        public LimitClass(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+        
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+        
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+        
+        public int getMinLimit() {
+            return minLimit;
+        }
+        
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+        
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+        
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+    }
+}
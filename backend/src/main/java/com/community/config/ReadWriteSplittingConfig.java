@@ -0,0 +1,92 @@
+package com.community.config;
+
+import com.community.datasource.ReadWriteRoutingDataSource;
+import com.community.datasource.ReadWriteRoutingFilter;
+import com.community.datasource.ReadWriteRoutingInterceptor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，community.datasource.read-write-splitting=true 时启用
+ *
+ * 对外的 DataSource 是包装了路由数据源的 LazyConnectionDataSourceProxy：
+ * 实际连接推迟到第一条语句执行时获取，此时已知道是只读查询还是只读事务。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "community.datasource", name = "read-write-splitting", havingValue = "true")
+public class ReadWriteSplittingConfig {
+
+    private final ReadWriteSplittingProperties properties;
+
+    // 构造函数
+    public ReadWriteSplittingConfig(ReadWriteSplittingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        // 主库沿用 spring.datasource.hikari 下的连接池配置
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<ReadWriteRoutingDataSource.Target> replicas = new ArrayList<>();
+        for (ReadWriteSplittingProperties.Replica replica : properties.getReplicas()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("replica-" + replica.getName());
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            if (replica.getDriverClassName() != null) {
+                dataSource.setDriverClassName(replica.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // 从库不可用时不阻塞启动，由健康检查标记
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new ReadWriteRoutingDataSource.Target(replica.getName(), dataSource, replica.getWeight()));
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.getStrategy(),
+                properties.getHealthCheckTimeoutSeconds());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadWriteRoutingInterceptor readWriteRoutingInterceptor() {
+        return new ReadWriteRoutingInterceptor(properties.getPinAfterWriteMs());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadWriteRoutingFilter> readWriteRoutingFilter() {
+        FilterRegistrationBean<ReadWriteRoutingFilter> registration = new FilterRegistrationBean<>(new ReadWriteRoutingFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
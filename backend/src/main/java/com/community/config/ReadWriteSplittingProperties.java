@@ -0,0 +1,144 @@
+package com.community.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置，主库使用 spring.datasource
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+@ConfigurationProperties(prefix = "community.datasource")
+public class ReadWriteSplittingProperties {
+    
+    private boolean readWriteSplitting = false;
+    private String strategy = "weight";            // weight：按权重随机；least-busy：活跃连接数/权重最小
+    private long healthCheckIntervalMs = 5000;
+    private int healthCheckTimeoutSeconds = 2;
+    private long pinAfterWriteMs = 1000;           // 请求之外写入后固定走主库的时间，应大于从库复制延迟
+    private List<Replica> replicas = new ArrayList<>();
+    
+    // Getter和Setter方法
+    public boolean isReadWriteSplitting() {
+        return readWriteSplitting;
+    }
+    
+    public void setReadWriteSplitting(boolean readWriteSplitting) {
+        this.readWriteSplitting = readWriteSplitting;
+    }
+    
+    public String getStrategy() {
+        return strategy;
+    }
+    
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+    
+    public long getHealthCheckIntervalMs() {
+        return healthCheckIntervalMs;
+    }
+    
+    public void setHealthCheckIntervalMs(long healthCheckIntervalMs) {
+        this.healthCheckIntervalMs = healthCheckIntervalMs;
+    }
+    
+    public int getHealthCheckTimeoutSeconds() {
+        return healthCheckTimeoutSeconds;
+    }
+    
+    public void setHealthCheckTimeoutSeconds(int healthCheckTimeoutSeconds) {
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+    
+    public long getPinAfterWriteMs() {
+        return pinAfterWriteMs;
+    }
+    
+    public void setPinAfterWriteMs(long pinAfterWriteMs) {
+        this.pinAfterWriteMs = pinAfterWriteMs;
+    }
+    
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+    
+    public void setReplicas(List<Replica> replicas) {
+        this.replicas = replicas;
+    }
+    
+    /**
+     * 从库连接配置
+     */
+    public static class Replica {
+        
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int weight = 1;
+        private int maximumPoolSize = 10;
+        
+        public String getName() {
+            return name;
+        }
+        
+        public void setName(String name) {
+            this.name = name;
+        }
+        
+        public String getUrl() {
+            return url;
+        }
+        
+        public void setUrl(String url) {
+            this.url = url;
+        }
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public void setUsername(String username) {
+            this.username = username;
+        }
+        
+        public String getPassword() {
+            return password;
+        }
+        
+        public void setPassword(String password) {
+            this.password = password;
+        }
+        
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+        
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+        
+        public int getWeight() {
+            return weight;
+        }
+        
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+        
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+        
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.community.config;
 
+import com.community.filter.AdminTokenInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
@@ -13,13 +16,24 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     
+    @Autowired
+    private AdminTokenInterceptor adminTokenInterceptor;
+    
     @Override
     public void addCorsMappings(@org.springframework.lang.NonNull CorsRegistry registry) {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:3000")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders("ETag", "X-Auth-Token")
                 .allowCredentials(true)
                 .maxAge(3600);
     }
+    
+    @Override
+    public void addInterceptors(@org.springframework.lang.NonNull InterceptorRegistry registry) {
+        // 管理接口需要 X-Admin-Token
+        registry.addInterceptor(adminTokenInterceptor)
+                .addPathPatterns("/articles/export", "/admin/**");
+    }
 }
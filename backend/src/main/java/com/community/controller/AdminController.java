@@ -0,0 +1,71 @@
+package com.community.controller;
+
+import com.community.dto.ApiResponse;
+import com.community.dto.ImportResult;
+import com.community.service.ArticleProcessingPipeline;
+import com.community.service.ImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 管理控制器，所有接口需要 X-Admin-Token 请求头
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+    
+    @Autowired
+    private ImportService importService;
+    
+    @Autowired
+    private ArticleProcessingPipeline articleProcessingPipeline;
+    
+    /**
+     * 批量导入用户或文章（请求体为NDJSON，可用 Content-Encoding: gzip 压缩）
+     * 
+     * 失败后用相同的 job 重新提交同一文件，从上次的检查点继续。
+     */
+    @PostMapping("/import/{type}")
+    public ApiResponse<ImportResult> importData(@PathVariable String type,
+                                                @RequestParam(defaultValue = "default") String job,
+                                                HttpServletRequest request) {
+        try {
+            InputStream in = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+                in = new GZIPInputStream(in, 64 * 1024);
+            }
+            if (ImportService.TYPE_USERS.equals(type)) {
+                return ApiResponse.success("导入完成", importService.importUsers(in, job));
+            }
+            if (ImportService.TYPE_ARTICLES.equals(type)) {
+                return ApiResponse.success("导入完成", importService.importArticles(in, job));
+            }
+            return ApiResponse.badRequest("不支持的导入类型：" + type);
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            return ApiResponse.error("导入失败，可使用相同的任务ID重试：" + e.getMessage());
+        }
+    }
+    
+    /**
+     * 在后台重新处理文章（生成摘要、字数、阅读时间、封面图并更新检索索引），进度见 /metrics/article-pipeline
+     * 
+     * @param all 为true时处理所有文章，默认只处理尚未处理的文章
+     */
+    @PostMapping("/articles/reprocess")
+    public ApiResponse<ArticleProcessingPipeline.Stats> reprocessArticles(@RequestParam(defaultValue = "false") boolean all) {
+        if (!articleProcessingPipeline.replay(all)) {
+            return ApiResponse.conflict("已有重新处理任务在进行", articleProcessingPipeline.stats());
+        }
+        return ApiResponse.success("已开始重新处理", articleProcessingPipeline.stats());
+    }
+}
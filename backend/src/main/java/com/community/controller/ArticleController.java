@@ -1,13 +1,43 @@
 package com.community.controller;
 
 import com.community.dto.ApiResponse;
+import com.community.dto.ArticleListFields;
+import com.community.dto.ArticleListItem;
+import com.community.dto.BatchGetRequest;
+import com.community.dto.BatchItem;
+import com.community.dto.CursorPage;
+import com.community.dto.PageResult;
 import com.community.entity.Article;
+import com.community.exception.VersionConflictException;
+import com.community.filter.AuthenticationFilter;
+import com.community.search.SearchService;
+import com.community.service.ArticleEventBroadcaster;
+import com.community.service.ArticleExportService;
+import com.community.service.ArticlePayloadCache;
 import com.community.service.ArticleService;
+import com.community.service.TrendingService;
+import com.community.utils.EtagUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * 文章控制器
@@ -20,15 +50,31 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000", allowCredentials = "true")
 public class ArticleController {
     
+    private static final Logger log = LoggerFactory.getLogger(ArticleController.class);
+    
     @Autowired
     private ArticleService articleService;
     
+    @Autowired
+    private SearchService searchService;
+    
+    @Autowired
+    private ArticleExportService articleExportService;
+    
+    @Autowired
+    private TrendingService trendingService;
+    
+    @Autowired
+    private ArticleEventBroadcaster articleEventBroadcaster;
+    
+    @Autowired
+    private ArticlePayloadCache articlePayloadCache;
+    
     /**
      * 发布文章
      */
     @PostMapping
-    public ApiResponse<Article> publishArticle(@RequestBody Article article, HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<Article> publishArticle(@RequestBody Article article, @RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
@@ -46,14 +92,13 @@ public class ArticleController {
      * 更新文章
      */
     @PutMapping("/{id}")
-    public ApiResponse<Article> updateArticle(@PathVariable Long id, @RequestBody Article article, HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<Article> updateArticle(@PathVariable Long id, @RequestBody Article article, @RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
         
         try {
-            // 检查文章是否存在且属于当前用户
+            // 检查文章是否存在且属于当前用户（通常命中缓存；写入时 UPDATE 语句会再次按作者和版本号检查）
             Article existingArticle = articleService.findById(id);
             if (existingArticle == null) {
                 return ApiResponse.notFound("文章不存在");
@@ -66,6 +111,8 @@ public class ArticleController {
             article.setAuthorId(userId);
             Article updatedArticle = articleService.updateArticle(article);
             return ApiResponse.success("更新成功", updatedArticle);
+        } catch (VersionConflictException e) {
+            return ApiResponse.conflict(e.getMessage(), e.getCurrent());
         } catch (Exception e) {
             return ApiResponse.error(e.getMessage());
         }
@@ -75,8 +122,7 @@ public class ArticleController {
      * 删除文章
      */
     @DeleteMapping("/{id}")
-    public ApiResponse<Void> deleteArticle(@PathVariable Long id, HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<Void> deleteArticle(@PathVariable Long id, @RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
@@ -97,47 +143,198 @@ public class ArticleController {
      * 获取文章详情
      */
     @GetMapping("/{id}")
-    public ApiResponse<Article> getArticle(@PathVariable Long id) {
+    public ApiResponse<Article> getArticle(@PathVariable Long id, WebRequest webRequest,
+                                           HttpServletRequest request, HttpServletResponse response) throws IOException {
         Article article = articleService.findById(id);
         if (article == null) {
             return ApiResponse.notFound("文章不存在");
         }
         
-        // 增加浏览次数
+        // 增加浏览次数，同时计入热门排行
         articleService.incrementViewCount(id);
+        trendingService.recordView(article);
         
+        // 内容未变化时返回304
+        if (webRequest.checkNotModified(EtagUtil.article(article))) {
+            return null;
+        }
+        // 热门文章直接输出缓存的序列化结果
+        if (articlePayloadCache.write(article, request, response)) {
+            return null;
+        }
         return ApiResponse.success(article);
     }
     
     /**
-     * 获取所有已发布的文章
+     * 按ID批量获取文章详情，结果与请求的ID顺序相同，不存在的文章 found 为false（不计浏览次数）
+     */
+    @PostMapping("/batch")
+    public ApiResponse<List<BatchItem<Long, Article>>> getArticles(@RequestBody BatchGetRequest<Long> request) {
+        List<Long> ids = request.getKeys();
+        if (ids == null) {
+            return ApiResponse.badRequest("keys 不能为空");
+        }
+        try {
+            return ApiResponse.success(BatchItem.of(ids, articleService.findByIds(ids)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取已发布的文章（不分页，兼容旧客户端，返回条数有上限）
+     * 
+     * 列表不含正文，可用 fields 参数（逗号分隔）只返回需要的字段。
      */
     @GetMapping
-    public ApiResponse<List<Article>> getPublishedArticles() {
-        List<Article> articles = articleService.findPublishedArticles();
-        return ApiResponse.success(articles);
+    public ApiResponse<List<ArticleListItem>> getPublishedArticles(@RequestParam(required = false) String fields,
+                                                                   WebRequest webRequest) {
+        try {
+            ArticleListFields listFields = ArticleListFields.parse(fields);
+            String etag = articleService.getPublishedArticlesEtag(null, null, listFields);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            
+            List<ArticleListItem> articles = articleService.findPublishedArticles(listFields);
+            if (etag == null && webRequest.checkNotModified(EtagUtil.articles(articles, "all:" + listFields.getKey()))) {
+                return null;
+            }
+            return ApiResponse.success(listFields.project(articles));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+    
+    /**
+     * 游标分页获取已发布的文章
+     */
+    @GetMapping(params = "limit")
+    public ApiResponse<CursorPage<ArticleListItem>> getPublishedArticlesPage(@RequestParam(required = false) String after,
+                                                                            @RequestParam int limit,
+                                                                            @RequestParam(required = false) String fields,
+                                                                            WebRequest webRequest) {
+        try {
+            ArticleListFields listFields = ArticleListFields.parse(fields);
+            String etag = articleService.getPublishedArticlesEtag(after, limit, listFields);
+            if (etag != null && webRequest.checkNotModified(etag)) {
+                return null;
+            }
+            
+            CursorPage<ArticleListItem> page = articleService.findPublishedArticlesPage(after, limit, listFields);
+            String variant = after + ":" + limit + ":" + listFields.getKey();
+            if (etag == null && webRequest.checkNotModified(EtagUtil.articles(page.getItems(), variant))) {
+                return null;
+            }
+            return ApiResponse.success(new CursorPage<>(listFields.project(page.getItems()),
+                    page.getNextCursor(), page.isHasMore()));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
     }
     
     /**
-     * 获取当前用户的文章
+     * 订阅新发布文章的推送（Server-Sent Events，事件名 article-published，数据为不含正文的文章）
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamArticles() {
+        ResponseBodyEmitter emitter = articleEventBroadcaster.subscribe();
+        if (emitter == null) {
+            // 订阅数已满，EventSource 收到非200响应后不再重连，由页面退回到手动刷新
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(new MediaType(MediaType.TEXT_EVENT_STREAM, StandardCharsets.UTF_8))
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                // 关闭 nginx 等反向代理的响应缓冲
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+    
+    /**
+     * 获取热门文章（按时间衰减的浏览热度排序，只读内存，不含正文）
+     */
+    @GetMapping("/trending")
+    public ApiResponse<List<Article>> getTrendingArticles(@RequestParam(defaultValue = "20") int limit) {
+        return ApiResponse.success(trendingService.getTrending(Math.max(1, Math.min(limit, 100))));
+    }
+    
+    /**
+     * 全文检索已发布的文章
+     */
+    @GetMapping("/search")
+    public ApiResponse<PageResult<Article>> searchArticles(@RequestParam String q,
+                                                          @RequestParam(defaultValue = "1") int page,
+                                                          @RequestParam(defaultValue = "10") int size) {
+        if (q.trim().isEmpty()) {
+            return ApiResponse.badRequest("检索关键词不能为空");
+        }
+        return ApiResponse.success(searchService.search(q, page, size));
+    }
+    
+    /**
+     * 获取当前用户的文章（不含正文，支持 fields 参数）
      */
     @GetMapping("/my")
-    public ApiResponse<List<Article>> getMyArticles(HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<List<ArticleListItem>> getMyArticles(@RequestParam(required = false) String fields,
+                                                            @RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
         
-        List<Article> articles = articleService.findByAuthorId(userId);
-        return ApiResponse.success(articles);
+        try {
+            ArticleListFields listFields = ArticleListFields.parse(fields);
+            return ApiResponse.success(listFields.project(articleService.findByAuthorId(userId, listFields)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
     }
     
     /**
-     * 根据作者获取文章
+     * 根据作者获取文章（不含正文，支持 fields 参数）
      */
     @GetMapping("/author/{authorId}")
-    public ApiResponse<List<Article>> getArticlesByAuthor(@PathVariable Long authorId) {
-        List<Article> articles = articleService.findByAuthorId(authorId);
-        return ApiResponse.success(articles);
+    public ApiResponse<List<ArticleListItem>> getArticlesByAuthor(@PathVariable Long authorId,
+                                                                  @RequestParam(required = false) String fields) {
+        try {
+            ArticleListFields listFields = ArticleListFields.parse(fields);
+            return ApiResponse.success(listFields.project(articleService.findByAuthorId(authorId, listFields)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+    
+    /**
+     * 导出文章（NDJSON，每行一篇），流式写出，需要管理员令牌
+     * 
+     * 请求头带 Accept-Encoding: gzip 时以gzip压缩输出。
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportArticles(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long authorId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            long started = System.nanoTime();
+            long rows = articleExportService.export(status, authorId, createdFrom, createdTo, out);
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+            log.info("导出文章 {} 篇，耗时 {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8")
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"articles.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 }
@@ -0,0 +1,165 @@
+package com.community.controller;
+
+import com.community.datasource.ReadWriteRoutingDataSource;
+import com.community.dto.ApiResponse;
+import com.community.filter.ConcurrencyLimitFilter;
+import com.community.limit.GradientLimiter;
+import com.community.metrics.SlowQueryLog;
+import com.community.metrics.SqlMetricsInterceptor;
+import com.community.metrics.StatementMetrics;
+import com.community.service.ArticleContentService;
+import com.community.service.ArticleEventBroadcaster;
+import com.community.service.ArticlePayloadCache;
+import com.community.service.ArticleProcessingPipeline;
+import com.community.service.ArticleService;
+import com.community.service.TrendingService;
+import com.community.service.UserExistenceIndex;
+import com.community.service.UserService;
+import com.community.utils.LocalCache;
+import com.community.utils.SingleFlight;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 运行指标控制器
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private SqlMetricsInterceptor sqlMetricsInterceptor;
+    
+    @Autowired
+    private UserExistenceIndex userExistenceIndex;
+    
+    @Autowired
+    private ConcurrencyLimitFilter concurrencyLimitFilter;
+    
+    @Autowired
+    private TrendingService trendingService;
+    
+    @Autowired
+    private ArticleEventBroadcaster articleEventBroadcaster;
+    
+    @Autowired
+    private ArticlePayloadCache articlePayloadCache;
+    
+    @Autowired
+    private ArticleContentService articleContentService;
+    
+    @Autowired
+    private ArticleProcessingPipeline articleProcessingPipeline;
+    
+    // 未启用读写分离时不存在
+    @Autowired
+    private ObjectProvider<ReadWriteRoutingDataSource> routingDataSource;
+    
+    /**
+     * 获取本地缓存统计信息
+     */
+    @GetMapping("/caches")
+    public ApiResponse<List<LocalCache.Stats>> getCacheStats() {
+        return ApiResponse.success(List.of(articleService.getCacheStats(), userService.getCacheStats(),
+                userService.getAuthorCacheStats(), articlePayloadCache.getStats()));
+    }
+    
+    /**
+     * 获取查询合并的统计信息（实际查询次数和共享结果的调用次数）
+     */
+    @GetMapping("/single-flight")
+    public ApiResponse<List<SingleFlight.Stats>> getSingleFlightStats() {
+        List<SingleFlight.Stats> stats = new ArrayList<>();
+        stats.add(articleService.getLoadStats());
+        stats.addAll(userService.getLoadStats());
+        return ApiResponse.success(stats);
+    }
+    
+    /**
+     * 获取用户名/邮箱布隆过滤器的容量和跳过的查询次数
+     */
+    @GetMapping("/user-filter")
+    public ApiResponse<UserExistenceIndex.Stats> getUserFilterStats() {
+        return ApiResponse.success(userExistenceIndex.stats());
+    }
+    
+    /**
+     * 获取各SQL语句的耗时分布（微秒）和行数
+     */
+    @GetMapping("/sql")
+    public ApiResponse<List<StatementMetrics.Snapshot>> getSqlMetrics() {
+        return ApiResponse.success(sqlMetricsInterceptor.getStatementMetrics());
+    }
+    
+    /**
+     * 获取最近的慢查询及其参数
+     */
+    @GetMapping("/sql/slow")
+    public ApiResponse<List<SlowQueryLog.Entry>> getSlowQueries() {
+        return ApiResponse.success(sqlMetricsInterceptor.getSlowQueries());
+    }
+    
+    /**
+     * 获取读写分离各数据源的健康状态和连接统计，未启用读写分离时返回空列表
+     */
+    @GetMapping("/datasources")
+    public ApiResponse<List<ReadWriteRoutingDataSource.Stats>> getDataSourceStats() {
+        ReadWriteRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        return ApiResponse.success(dataSource == null ? List.of() : dataSource.getStats());
+    }
+    
+    /**
+     * 获取文章读、写请求当前的并发上限、并发数和拒绝次数
+     */
+    @GetMapping("/limits")
+    public ApiResponse<List<GradientLimiter.Stats>> getLimitStats() {
+        return ApiResponse.success(concurrencyLimitFilter.getStats());
+    }
+    
+    /**
+     * 获取热门文章排行跟踪的文章数和浏览次数
+     */
+    @GetMapping("/trending")
+    public ApiResponse<TrendingService.Stats> getTrendingStats() {
+        return ApiResponse.success(trendingService.stats());
+    }
+    
+    /**
+     * 获取新文章推送的订阅数、推送事件数和断开的慢消费者数
+     */
+    @GetMapping("/stream")
+    public ApiResponse<ArticleEventBroadcaster.Stats> getStreamStats() {
+        return ApiResponse.success(articleEventBroadcaster.stats());
+    }
+    
+    /**
+     * 获取正文压缩字典、压缩率和旧正文迁移进度
+     */
+    @GetMapping("/article-contents")
+    public ApiResponse<ArticleContentService.Stats> getArticleContentStats() {
+        return ApiResponse.success(articleContentService.stats());
+    }
+    
+    /**
+     * 获取文章处理流水线各阶段的积压、批次和放弃次数，以及重放进度
+     */
+    @GetMapping("/article-pipeline")
+    public ApiResponse<ArticleProcessingPipeline.Stats> getArticlePipelineStats() {
+        return ApiResponse.success(articleProcessingPipeline.stats());
+    }
+}
@@ -1,15 +1,31 @@
 package com.community.controller;
 
 import com.community.dto.ApiResponse;
+import com.community.dto.BatchGetRequest;
+import com.community.dto.BatchItem;
 import com.community.dto.LoginRequest;
 import com.community.dto.RegisterRequest;
+import com.community.config.AuthProperties;
+import com.community.entity.AuthorStats;
 import com.community.entity.User;
+import com.community.exception.VersionConflictException;
+import com.community.filter.AuthenticationFilter;
+import com.community.service.AuthorStatsService;
+import com.community.service.TokenService;
 import com.community.service.UserService;
+import com.community.utils.EtagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
+import java.time.Duration;
+import java.util.List;
 import javax.validation.Valid;
 
 /**
@@ -27,6 +43,15 @@ public class UserController {
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private TokenService tokenService;
+    
+    @Autowired
+    private AuthorStatsService authorStatsService;
+    
+    @Autowired
+    private AuthProperties authProperties;
+    
     /**
      * 用户注册
      */
@@ -44,12 +69,22 @@ public class UserController {
      * 用户登录
      */
     @PostMapping("/login")
-    public ApiResponse<User> login(@Valid @RequestBody LoginRequest request, HttpSession session) {
+    public ApiResponse<User> login(@Valid @RequestBody LoginRequest request,
+                                   HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
         try {
             User user = userService.login(request);
-            // 将用户信息存储到session中
-            session.setAttribute("userId", user.getId());
-            session.setAttribute("username", user.getUsername());
+            if (authProperties.isTokenMode()) {
+                // 签发令牌，浏览器通过Cookie携带，其他客户端可使用 Authorization: Bearer 请求头
+                String token = tokenService.issue(user.getId());
+                httpResponse.addHeader(HttpHeaders.SET_COOKIE,
+                        tokenCookie(token, Duration.ofSeconds(authProperties.getToken().getTtlSeconds())));
+                httpResponse.setHeader("X-Auth-Token", token);
+            } else {
+                // 将用户信息存储到session中
+                HttpSession session = httpRequest.getSession();
+                session.setAttribute(AuthenticationFilter.USER_ID_ATTRIBUTE, user.getId());
+                session.setAttribute("username", user.getUsername());
+            }
             return ApiResponse.success("登录成功", user);
         } catch (Exception e) {
             return ApiResponse.badRequest(e.getMessage());
@@ -60,8 +95,15 @@ public class UserController {
      * 用户登出
      */
     @PostMapping("/logout")
-    public ApiResponse<Void> logout(HttpSession session) {
-        session.invalidate();
+    public ApiResponse<Void> logout(HttpServletRequest httpRequest, HttpServletResponse httpResponse) {
+        if (authProperties.isTokenMode()) {
+            httpResponse.addHeader(HttpHeaders.SET_COOKIE, tokenCookie("", Duration.ZERO));
+        } else {
+            HttpSession session = httpRequest.getSession(false);
+            if (session != null) {
+                session.invalidate();
+            }
+        }
         return ApiResponse.success("登出成功", null);
     }
     
@@ -69,8 +111,7 @@ public class UserController {
      * 获取当前用户信息
      */
     @GetMapping("/current")
-    public ApiResponse<User> getCurrentUser(HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<User> getCurrentUser(@RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
@@ -87,29 +128,18 @@ public class UserController {
      * 更新用户信息
      */
     @PutMapping("/profile")
-    public ApiResponse<User> updateProfile(@RequestBody User userUpdate, HttpSession session) {
-        Long userId = (Long) session.getAttribute("userId");
+    public ApiResponse<User> updateProfile(@RequestBody User userUpdate, @RequestAttribute(value = AuthenticationFilter.USER_ID_ATTRIBUTE, required = false) Long userId) {
         if (userId == null) {
             return ApiResponse.unauthorized("请先登录");
         }
         
         try {
-            // 只允许更新特定字段
-            User existingUser = userService.findById(userId);
-            if (existingUser == null) {
-                return ApiResponse.unauthorized("用户不存在");
-            }
-            
-            existingUser.setAvatar(userUpdate.getAvatar());
-            existingUser.setBio(userUpdate.getBio());
-            
-            boolean success = userService.updateUser(existingUser);
-            if (success) {
-                User updatedUser = userService.findById(userId);
-                return ApiResponse.success("更新成功", updatedUser);
-            } else {
-                return ApiResponse.error("更新失败");
-            }
+            // 只允许更新头像和简介
+            User updatedUser = userService.updateProfile(userId, userUpdate.getAvatar(), userUpdate.getBio(),
+                    userUpdate.getVersion());
+            return ApiResponse.success("更新成功", updatedUser);
+        } catch (VersionConflictException e) {
+            return ApiResponse.conflict(e.getMessage(), e.getCurrent());
         } catch (Exception e) {
             return ApiResponse.error(e.getMessage());
         }
@@ -119,11 +149,52 @@ public class UserController {
      * 根据用户名查询用户
      */
     @GetMapping("/{username}")
-    public ApiResponse<User> getUserByUsername(@PathVariable String username) {
+    public ApiResponse<User> getUserByUsername(@PathVariable String username, WebRequest webRequest) {
         User user = userService.findByUsername(username);
         if (user == null) {
             return ApiResponse.notFound("用户不存在");
         }
+        if (webRequest.checkNotModified(EtagUtil.user(user))) {
+            return null;
+        }
         return ApiResponse.success(user);
     }
+    
+    /**
+     * 按用户名批量查询用户，结果与请求的用户名顺序相同，不存在的用户 found 为false
+     */
+    @PostMapping("/batch")
+    public ApiResponse<List<BatchItem<String, User>>> getUsers(@RequestBody BatchGetRequest<String> request) {
+        List<String> usernames = request.getKeys();
+        if (usernames == null) {
+            return ApiResponse.badRequest("keys 不能为空");
+        }
+        try {
+            return ApiResponse.success(BatchItem.of(usernames, userService.findByUsernames(usernames)));
+        } catch (IllegalArgumentException e) {
+            return ApiResponse.badRequest(e.getMessage());
+        }
+    }
+    
+    /**
+     * 获取作者的文章数、已发布文章数和总浏览次数
+     */
+    @GetMapping("/{username}/stats")
+    public ApiResponse<AuthorStats> getUserStats(@PathVariable String username) {
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            return ApiResponse.notFound("用户不存在");
+        }
+        return ApiResponse.success(authorStatsService.getStats(user.getId()));
+    }
+    
+    private String tokenCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(authProperties.getToken().getCookieName(), value)
+                .httpOnly(true)
+                .path("/")
+                .maxAge(maxAge)
+                .sameSite("Lax")
+                .build()
+                .toString();
+    }
 }
@@ -0,0 +1,98 @@
+package com.community.datasource;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 读写分离的线程上下文
+ * 
+ * 只读的 MyBatis 查询在执行期间标记为读；写操作之后把当前线程固定到主库：
+ * 请求内固定到请求结束，请求之外（定时任务等）固定 pin-after-write-ms 毫秒，
+ * 保证写入之后的读取能看到刚写入的数据。后台任务读取刚写入的数据时用 {@link #beginPrimary()} 固定到主库。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public final class ReadWriteRouting {
+    
+    private static final ThreadLocal<Boolean> READ = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> IN_REQUEST = new ThreadLocal<>();
+    private static final ThreadLocal<Long> PINNED_UNTIL = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+    
+    private ReadWriteRouting() {}
+    
+    /**
+     * 标记当前语句为只读查询
+     * 
+     * @return 之前的标记，用于 {@link #endRead(boolean)} 恢复
+     */
+    public static boolean beginRead() {
+        boolean previous = READ.get() != null;
+        READ.set(Boolean.TRUE);
+        return previous;
+    }
+    
+    public static void endRead(boolean previous) {
+        if (!previous) {
+            READ.remove();
+        }
+    }
+    
+    /**
+     * 写操作之后把当前线程固定到主库
+     * 
+     * @param pinMillis 请求之外固定的毫秒数
+     */
+    public static void markWrite(long pinMillis) {
+        PINNED_UNTIL.set(IN_REQUEST.get() != null ? Long.MAX_VALUE : System.currentTimeMillis() + pinMillis);
+    }
+    
+    /**
+     * 标记当前线程接下来的读取都使用主库，用于后台任务读取刚写入的数据（从库可能有复制延迟）
+     * 
+     * @return 之前的标记，用于 {@link #endPrimary(boolean)} 恢复
+     */
+    public static boolean beginPrimary() {
+        boolean previous = PRIMARY.get() != null;
+        PRIMARY.set(Boolean.TRUE);
+        return previous;
+    }
+    
+    public static void endPrimary(boolean previous) {
+        if (!previous) {
+            PRIMARY.remove();
+        }
+    }
+    
+    public static void beginRequest() {
+        IN_REQUEST.set(Boolean.TRUE);
+    }
+    
+    public static void endRequest() {
+        IN_REQUEST.remove();
+        PINNED_UNTIL.remove();
+        READ.remove();
+    }
+    
+    /**
+     * 当前获取的连接是否可以使用从库
+     * 
+     * 事务内只有只读事务使用从库；事务外只有标记为读的查询使用从库；固定到主库时一律使用主库。
+     */
+    public static boolean shouldUseReplica() {
+        if (PRIMARY.get() != null) {
+            return false;
+        }
+        Long pinnedUntil = PINNED_UNTIL.get();
+        if (pinnedUntil != null) {
+            if (pinnedUntil > System.currentTimeMillis()) {
+                return false;
+            }
+            PINNED_UNTIL.remove();
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        }
+        return READ.get() != null;
+    }
+}
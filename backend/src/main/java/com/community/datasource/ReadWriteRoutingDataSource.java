@@ -0,0 +1,231 @@
+package com.community.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离数据源
+ *
+ * {@link ReadWriteRouting#shouldUseReplica()} 为true时从健康的从库中按权重或最少活跃连接选择一个，
+ * 否则使用主库。从库获取连接失败时标记为不健康并回退到主库，由定时健康检查恢复。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    public static final String STRATEGY_WEIGHT = "weight";
+    public static final String STRATEGY_LEAST_BUSY = "least-busy";
+
+    private final Target primary;
+    private final List<Target> replicas;
+    private final boolean leastBusy;
+    private final int healthCheckTimeoutSeconds;
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<Target> replicas, String strategy,
+                                      int healthCheckTimeoutSeconds) {
+        this.primary = new Target("primary", primary, 0);
+        this.replicas = new ArrayList<>(replicas);
+        this.leastBusy = STRATEGY_LEAST_BUSY.equalsIgnoreCase(strategy);
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadWriteRouting.shouldUseReplica()) {
+            Target replica = chooseReplica();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.connections.increment();
+                    return connection;
+                } catch (SQLException e) {
+                    markDown(replica, e);
+                }
+            }
+            fallbacks.increment();
+        }
+        Connection connection = primary.dataSource.getConnection();
+        primary.connections.increment();
+        return connection;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.dataSource.getConnection(username, password);
+    }
+
+    /**
+     * 定时检查各从库是否可用，不健康的从库恢复后重新参与读请求
+     */
+    @Scheduled(fixedDelayString = "${community.datasource.health-check-interval-ms:5000}")
+    public void checkReplicas() {
+        for (Target replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException e) {
+                healthy = false;
+            }
+            if (healthy && !replica.healthy) {
+                log.info("从库 {} 已恢复", replica.name);
+            } else if (!healthy && replica.healthy) {
+                log.warn("从库 {} 健康检查失败，读请求回退到主库", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * 主库和各从库的连接统计
+     *
+     * @return 统计信息，第一项为主库
+     */
+    public List<Stats> getStats() {
+        List<Stats> stats = new ArrayList<>();
+        stats.add(primary.stats());
+        for (Target replica : replicas) {
+            stats.add(replica.stats());
+        }
+        stats.get(0).fallbacks = fallbacks.sum();
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        for (Target replica : replicas) {
+            replica.dataSource.close();
+        }
+        primary.dataSource.close();
+    }
+
+    private Target chooseReplica() {
+        if (leastBusy) {
+            Target best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (Target replica : replicas) {
+                if (!replica.healthy) {
+                    continue;
+                }
+                double score = (replica.activeConnections() + 1.0) / replica.weight;
+                if (score < bestScore) {
+                    best = replica;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        int totalWeight = 0;
+        for (Target replica : replicas) {
+            if (replica.healthy) {
+                totalWeight += replica.weight;
+            }
+        }
+        if (totalWeight == 0) {
+            return null;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Target replica : replicas) {
+            if (replica.healthy) {
+                pick -= replica.weight;
+                if (pick < 0) {
+                    return replica;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void markDown(Target replica, SQLException e) {
+        if (replica.healthy) {
+            log.warn("从库 {} 获取连接失败，读请求回退到主库：{}", replica.name, e.getMessage());
+        }
+        replica.healthy = false;
+    }
+
+    /**
+     * 路由目标（主库或一个从库）
+     */
+    public static class Target {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final int weight;
+        private final LongAdder connections = new LongAdder();
+        private volatile boolean healthy = true;
+
+        public Target(String name, HikariDataSource dataSource, int weight) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.weight = Math.max(1, weight);
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+
+        private Stats stats() {
+            Stats stats = new Stats();
+            stats.name = name;
+            stats.healthy = healthy;
+            stats.weight = weight;
+            stats.connections = connections.sum();
+            stats.activeConnections = activeConnections();
+            return stats;
+        }
+    }
+
+    /**
+     * 连接统计
+     */
+    public static class Stats {
+
+        private String name;
+        private boolean healthy;
+        private int weight;
+        private long connections;       // 累计获取的连接数
+        private int activeConnections;  // 当前正在使用的连接数
+        private long fallbacks;         // 应走从库但回退到主库的次数（只统计在主库上）
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public long getConnections() {
+            return connections;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public long getFallbacks() {
+            return fallbacks;
+        }
+    }
+}
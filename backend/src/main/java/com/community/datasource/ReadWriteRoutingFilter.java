@@ -0,0 +1,29 @@
+package com.community.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 读写分离请求过滤器：请求内写入后的读取固定走主库，请求结束时清除
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ReadWriteRoutingFilter extends OncePerRequestFilter {
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadWriteRouting.beginRequest();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadWriteRouting.endRequest();
+        }
+    }
+}
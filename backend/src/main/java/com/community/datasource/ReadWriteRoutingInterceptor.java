@@ -0,0 +1,57 @@
+package com.community.datasource;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * 读写分离拦截器
+ * 
+ * SELECT 语句执行期间标记为读，由 {@link ReadWriteRoutingDataSource} 在获取连接时路由到从库；
+ * INSERT/UPDATE/DELETE 执行后把当前线程固定到主库。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Intercepts({
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class})
+})
+public class ReadWriteRoutingInterceptor implements Interceptor {
+    
+    private final long pinAfterWriteMillis;
+    
+    public ReadWriteRoutingInterceptor(long pinAfterWriteMillis) {
+        this.pinAfterWriteMillis = pinAfterWriteMillis;
+    }
+    
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        if (statement.getSqlCommandType() != SqlCommandType.SELECT) {
+            // 先固定再执行，写操作本身也一定走主库
+            ReadWriteRouting.markWrite(pinAfterWriteMillis);
+            return invocation.proceed();
+        }
+        boolean previous = ReadWriteRouting.beginRead();
+        try {
+            return invocation.proceed();
+        } finally {
+            ReadWriteRouting.endRead(previous);
+        }
+    }
+}
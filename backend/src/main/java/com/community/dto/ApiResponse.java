@@ -61,6 +61,11 @@ public class ApiResponse<T> {
         return new ApiResponse<>(false, message, null, 404);
     }
     
+    // 版本冲突，data 为当前最新的数据
+    public static <T> ApiResponse<T> conflict(String message, T data) {
+        return new ApiResponse<>(false, message, data, 409);
+    }
+    
     // Getter和Setter方法
     public boolean isSuccess() {
         return success;
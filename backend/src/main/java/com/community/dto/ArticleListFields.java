@@ -0,0 +1,170 @@
+package com.community.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 文章列表的字段选择（fields 参数）
+ *
+ * 只允许选择 {@link ArticleListItem} 中的字段，正文不在列表中返回。未指定时返回全部列表字段。
+ * 查询时只选择需要的列；ID、作者ID、创建时间、更新时间和版本号用于游标、ETag和加载作者，总是查询，
+ * 返回前再按选择的字段裁剪。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticleListFields {
+
+    // 字段名 -> 列名，列名只来自这里，可以直接拼入SQL
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", "id");
+        COLUMNS.put("title", "title");
+        COLUMNS.put("summary", "summary");
+        COLUMNS.put("authorId", "author_id");
+        COLUMNS.put("author", "author_id");
+        COLUMNS.put("status", "status");
+        COLUMNS.put("viewCount", "view_count");
+        COLUMNS.put("version", "version");
+        COLUMNS.put("wordCount", "word_count");
+        COLUMNS.put("readingMinutes", "reading_minutes");
+        COLUMNS.put("coverImage", "cover_image");
+        COLUMNS.put("createdAt", "created_at");
+        COLUMNS.put("updatedAt", "updated_at");
+    }
+
+    private static final List<String> KEY_COLUMNS = Arrays.asList("id", "author_id", "created_at", "updated_at", "version");
+
+    /**
+     * 默认选择：全部列表字段
+     */
+    public static final ArticleListFields ALL = new ArticleListFields(COLUMNS.keySet());
+
+    private final Set<String> fields;
+    private final List<String> columns;
+
+    private ArticleListFields(Set<String> fields) {
+        this.fields = Collections.unmodifiableSet(fields);
+        Set<String> columns = new LinkedHashSet<>(KEY_COLUMNS);
+        for (String field : fields) {
+            columns.add(COLUMNS.get(field));
+        }
+        this.columns = Collections.unmodifiableList(new ArrayList<>(columns));
+    }
+
+    /**
+     * 解析 fields 参数
+     *
+     * @param value 逗号分隔的字段名，为空时选择全部列表字段
+     * @return 字段选择
+     * @throws IllegalArgumentException 包含不支持的字段
+     */
+    public static ArticleListFields parse(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return ALL;
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add("id");
+        for (String field : value.split(",")) {
+            field = field.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if ("content".equals(field)) {
+                throw new IllegalArgumentException("列表不返回文章正文，请通过文章详情接口获取");
+            }
+            if (!COLUMNS.containsKey(field)) {
+                throw new IllegalArgumentException("不支持的字段：" + field + "，可选字段：" + String.join(",", COLUMNS.keySet()));
+            }
+            fields.add(field);
+        }
+        return fields.size() == COLUMNS.size() ? ALL : new ArticleListFields(fields);
+    }
+
+    /**
+     * 是否选择了该字段
+     */
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    /**
+     * 查询需要的列
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    /**
+     * 区分不同字段选择的标识（用于ETag）
+     */
+    public String getKey() {
+        return this == ALL ? "" : String.join(",", fields);
+    }
+
+    /**
+     * 按选择的字段裁剪列表项，选择全部字段时直接返回原列表
+     *
+     * @param items 列表项
+     * @return 裁剪后的副本
+     */
+    public List<ArticleListItem> project(List<ArticleListItem> items) {
+        if (this == ALL) {
+            return items;
+        }
+        List<ArticleListItem> result = new ArrayList<>(items.size());
+        for (ArticleListItem item : items) {
+            result.add(project(item));
+        }
+        return result;
+    }
+
+    private ArticleListItem project(ArticleListItem item) {
+        ArticleListItem projected = new ArticleListItem();
+        projected.setId(item.getId());
+        if (includes("title")) {
+            projected.setTitle(item.getTitle());
+        }
+        if (includes("summary")) {
+            projected.setSummary(item.getSummary());
+        }
+        if (includes("authorId")) {
+            projected.setAuthorId(item.getAuthorId());
+        }
+        if (includes("author")) {
+            projected.setAuthor(item.getAuthor());
+        }
+        if (includes("status")) {
+            projected.setStatus(item.getStatus());
+        }
+        if (includes("viewCount")) {
+            projected.setViewCount(item.getViewCount());
+        }
+        if (includes("version")) {
+            projected.setVersion(item.getVersion());
+        }
+        if (includes("wordCount")) {
+            projected.setWordCount(item.getWordCount());
+        }
+        if (includes("readingMinutes")) {
+            projected.setReadingMinutes(item.getReadingMinutes());
+        }
+        if (includes("coverImage")) {
+            projected.setCoverImage(item.getCoverImage());
+        }
+        if (includes("createdAt")) {
+            projected.setCreatedAt(item.getCreatedAt());
+        }
+        if (includes("updatedAt")) {
+            projected.setUpdatedAt(item.getUpdatedAt());
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,194 @@
+package com.community.dto;
+
+import com.community.entity.Article;
+import com.community.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * 文章列表项DTO
+ *
+ * 列表接口返回的文章，不含正文；作者信息只包含ID、用户名和头像。
+ * 按 fields 参数裁剪后未选择的字段为null，序列化时省略。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticleListItem {
+
+    private Long id;
+    private String title;
+    private String summary;
+    private Long authorId;
+    private String status;  // DRAFT, PUBLISHED
+    private Integer viewCount;
+    private Integer version;
+    private Integer wordCount;
+    private Integer readingMinutes;
+    private String coverImage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private User author;
+
+    // 构造函数
+    public ArticleListItem() {}
+
+    /**
+     * 复制构造函数（浅拷贝，作者信息共享同一对象）
+     */
+    public ArticleListItem(ArticleListItem other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.summary = other.summary;
+        this.authorId = other.authorId;
+        this.status = other.status;
+        this.viewCount = other.viewCount;
+        this.version = other.version;
+        this.wordCount = other.wordCount;
+        this.readingMinutes = other.readingMinutes;
+        this.coverImage = other.coverImage;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.author = other.author;
+    }
+
+    /**
+     * 由完整文章生成列表项（丢弃正文）
+     */
+    public static ArticleListItem of(Article article) {
+        ArticleListItem item = new ArticleListItem();
+        item.id = article.getId();
+        item.title = article.getTitle();
+        item.summary = article.getSummary();
+        item.authorId = article.getAuthorId();
+        item.status = article.getStatus();
+        item.viewCount = article.getViewCount();
+        item.version = article.getVersion();
+        item.wordCount = article.getWordCount();
+        item.readingMinutes = article.getReadingMinutes();
+        item.coverImage = article.getCoverImage();
+        item.createdAt = article.getCreatedAt();
+        item.updatedAt = article.getUpdatedAt();
+        item.author = compactAuthor(article.getAuthor());
+        return item;
+    }
+
+    /**
+     * 列表中展示的作者信息：ID、用户名和头像
+     */
+    public static User compactAuthor(User user) {
+        if (user == null) {
+            return null;
+        }
+        User author = new User();
+        author.setId(user.getId());
+        author.setUsername(user.getUsername());
+        author.setAvatar(user.getAvatar());
+        return author;
+    }
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public Long getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(Long authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getViewCount() {
+        return viewCount;
+    }
+
+    public void setViewCount(Integer viewCount) {
+        this.viewCount = viewCount;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingMinutes() {
+        return readingMinutes;
+    }
+
+    public void setReadingMinutes(Integer readingMinutes) {
+        this.readingMinutes = readingMinutes;
+    }
+
+    public String getCoverImage() {
+        return coverImage;
+    }
+
+    public void setCoverImage(String coverImage) {
+        this.coverImage = coverImage;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public User getAuthor() {
+        return author;
+    }
+
+    public void setAuthor(User author) {
+        this.author = author;
+    }
+}
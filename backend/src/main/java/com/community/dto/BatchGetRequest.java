@@ -0,0 +1,26 @@
+package com.community.dto;
+
+import java.util.List;
+
+/**
+ * 批量查询请求
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class BatchGetRequest<K> {
+    
+    private List<K> keys;  // 文章ID或用户名，可以重复
+    
+    // 构造函数
+    public BatchGetRequest() {}
+    
+    // Getter和Setter方法
+    public List<K> getKeys() {
+        return keys;
+    }
+    
+    public void setKeys(List<K> keys) {
+        this.keys = keys;
+    }
+}
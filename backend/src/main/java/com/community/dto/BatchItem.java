@@ -0,0 +1,68 @@
+package com.community.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量查询结果中的一项
+ * 
+ * 与请求中的键一一对应，不存在时 found 为false、data 为null。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class BatchItem<K, T> {
+    
+    private K key;
+    private boolean found;
+    private T data;
+    
+    // 构造函数
+    public BatchItem() {}
+    
+    public BatchItem(K key, T data) {
+        this.key = key;
+        this.found = data != null;
+        this.data = data;
+    }
+    
+    /**
+     * 按顺序把键和查询结果配对
+     * 
+     * @param keys 请求中的键
+     * @param values 与键顺序相同的查询结果，不存在的为null
+     * @return 结果列表
+     */
+    public static <K, T> List<BatchItem<K, T>> of(List<K> keys, List<T> values) {
+        List<BatchItem<K, T>> items = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            items.add(new BatchItem<>(keys.get(i), values.get(i)));
+        }
+        return items;
+    }
+    
+    // Getter和Setter方法
+    public K getKey() {
+        return key;
+    }
+    
+    public void setKey(K key) {
+        this.key = key;
+    }
+    
+    public boolean isFound() {
+        return found;
+    }
+    
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+    
+    public T getData() {
+        return data;
+    }
+    
+    public void setData(T data) {
+        this.data = data;
+    }
+}
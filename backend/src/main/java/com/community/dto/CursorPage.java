@@ -0,0 +1,50 @@
+package com.community.dto;
+
+import java.util.List;
+
+/**
+ * 游标分页结果
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class CursorPage<T> {
+    
+    private List<T> items;
+    private String nextCursor;  // 下一页游标，没有更多数据时为null
+    private boolean hasMore;
+    
+    // 构造函数
+    public CursorPage() {}
+    
+    public CursorPage(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+    
+    // Getter和Setter方法
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    
+    public boolean isHasMore() {
+        return hasMore;
+    }
+    
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
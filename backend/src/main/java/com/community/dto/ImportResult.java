@@ -0,0 +1,113 @@
+package com.community.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入结果
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ImportResult {
+    
+    private String type;
+    private String jobId;
+    private long resumedFromLine;  // 从检查点恢复时跳过的行数
+    private long linesRead;
+    private long inserted;
+    private long skipped;          // 已存在或无法插入（如作者不存在）的行数
+    private long invalid;          // 校验失败的行数
+    private List<String> errors = new ArrayList<>();  // 校验失败的行号及原因（最多记录 max-errors 条）
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    
+    // 构造函数
+    public ImportResult() {}
+    
+    public ImportResult(String type, String jobId) {
+        this.type = type;
+        this.jobId = jobId;
+    }
+    
+    // Getter和Setter方法
+    public String getType() {
+        return type;
+    }
+    
+    public void setType(String type) {
+        this.type = type;
+    }
+    
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public long getResumedFromLine() {
+        return resumedFromLine;
+    }
+    
+    public void setResumedFromLine(long resumedFromLine) {
+        this.resumedFromLine = resumedFromLine;
+    }
+    
+    public long getLinesRead() {
+        return linesRead;
+    }
+    
+    public void setLinesRead(long linesRead) {
+        this.linesRead = linesRead;
+    }
+    
+    public long getInserted() {
+        return inserted;
+    }
+    
+    public void setInserted(long inserted) {
+        this.inserted = inserted;
+    }
+    
+    public long getSkipped() {
+        return skipped;
+    }
+    
+    public void setSkipped(long skipped) {
+        this.skipped = skipped;
+    }
+    
+    public long getInvalid() {
+        return invalid;
+    }
+    
+    public void setInvalid(long invalid) {
+        this.invalid = invalid;
+    }
+    
+    public List<String> getErrors() {
+        return errors;
+    }
+    
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+    
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+}
@@ -0,0 +1,60 @@
+package com.community.dto;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class PageResult<T> {
+    
+    private List<T> items;
+    private long total;
+    private int page;
+    private int size;
+    
+    // 构造函数
+    public PageResult() {}
+    
+    public PageResult(List<T> items, long total, int page, int size) {
+        this.items = items;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+    
+    // Getter和Setter方法
+    public List<T> getItems() {
+        return items;
+    }
+    
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+    
+    public long getTotal() {
+        return total;
+    }
+    
+    public void setTotal(long total) {
+        this.total = total;
+    }
+    
+    public int getPage() {
+        return page;
+    }
+    
+    public void setPage(int page) {
+        this.page = page;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -1,5 +1,7 @@
 package com.community.entity;
 
+import com.community.utils.ContentCodec;
+
 import java.time.LocalDateTime;
 
 /**
@@ -17,15 +19,44 @@ public class Article {
     private Long authorId;
     private String status;  // DRAFT, PUBLISHED
     private Integer viewCount;
+    private Integer version;  // 乐观锁版本号，每次更新加1
+    private Integer wordCount;       // 由 ArticleProcessingPipeline 在发布后计算，尚未处理时为null
+    private Integer readingMinutes;
+    private String coverImage;       // 正文中的第一张图片
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
     // 关联的用户信息（用于查询时返回）
     private User author;
     
+    // article_contents 中编码后的正文，首次调用 getContent() 时解码（由MyBatis直接赋值，不参与JSON序列化）；
+    // 副本共享同一个对象，解码结果保存在它上面，缓存的文章只解码一次
+    private ArticleContent storedContent;
+    
     // 构造函数
     public Article() {}
     
+    /**
+     * 复制构造函数（浅拷贝，作者信息共享同一对象）
+     */
+    public Article(Article other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.content = other.content;
+        this.summary = other.summary;
+        this.authorId = other.authorId;
+        this.status = other.status;
+        this.viewCount = other.viewCount;
+        this.version = other.version;
+        this.wordCount = other.wordCount;
+        this.readingMinutes = other.readingMinutes;
+        this.coverImage = other.coverImage;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.author = other.author;
+        this.storedContent = other.storedContent;
+    }
+    
     public Article(String title, String content, Long authorId) {
         this.title = title;
         this.content = content;
@@ -52,11 +83,23 @@ public class Article {
     }
     
     public String getContent() {
-        return content;
+        String text = content;
+        ArticleContent stored = storedContent;
+        if (text == null && stored != null) {
+            // 并发调用时可能重复解码，结果相同
+            text = stored.getDecodedText();
+            if (text == null) {
+                text = ContentCodec.decode(stored);
+                stored.setDecodedText(text);
+            }
+            content = text;
+        }
+        return text;
     }
     
     public void setContent(String content) {
         this.content = content;
+        this.storedContent = null;
     }
     
     public String getSummary() {
@@ -91,6 +134,38 @@ public class Article {
         this.viewCount = viewCount;
     }
     
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
+    public Integer getWordCount() {
+        return wordCount;
+    }
+    
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+    
+    public Integer getReadingMinutes() {
+        return readingMinutes;
+    }
+    
+    public void setReadingMinutes(Integer readingMinutes) {
+        this.readingMinutes = readingMinutes;
+    }
+    
+    public String getCoverImage() {
+        return coverImage;
+    }
+    
+    public void setCoverImage(String coverImage) {
+        this.coverImage = coverImage;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
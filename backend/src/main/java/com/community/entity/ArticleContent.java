@@ -0,0 +1,74 @@
+package com.community.entity;
+
+/**
+ * 文章正文实体类（article_contents 表）
+ * 
+ * 正文按 codec 编码后存放在 data 中，由 {@link com.community.utils.ContentCodec} 编码和解码。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticleContent {
+    
+    private Long articleId;
+    private Integer codec;         // 0 UTF-8原文，1 deflate
+    private Integer dictionaryId;  // 压缩字典ID，0表示不使用字典
+    private Integer rawLength;     // 原文UTF-8字节数
+    private byte[] data;
+    
+    // 解码后的正文，缓存中的文章和它的副本共享同一个对象，只解码一次
+    private volatile String decodedText;
+    
+    // 构造函数
+    public ArticleContent() {}
+    
+    // Getter和Setter方法
+    public Long getArticleId() {
+        return articleId;
+    }
+    
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+    
+    public Integer getCodec() {
+        return codec;
+    }
+    
+    public void setCodec(Integer codec) {
+        this.codec = codec;
+    }
+    
+    public Integer getDictionaryId() {
+        return dictionaryId;
+    }
+    
+    public void setDictionaryId(Integer dictionaryId) {
+        this.dictionaryId = dictionaryId;
+    }
+    
+    public Integer getRawLength() {
+        return rawLength;
+    }
+    
+    public void setRawLength(Integer rawLength) {
+        this.rawLength = rawLength;
+    }
+    
+    public byte[] getData() {
+        return data;
+    }
+    
+    public void setData(byte[] data) {
+        this.data = data;
+        this.decodedText = null;
+    }
+    
+    public String getDecodedText() {
+        return decodedText;
+    }
+    
+    public void setDecodedText(String decodedText) {
+        this.decodedText = decodedText;
+    }
+}
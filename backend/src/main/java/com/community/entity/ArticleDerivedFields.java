@@ -0,0 +1,69 @@
+package com.community.entity;
+
+/**
+ * 由正文计算出的文章字段，由 ArticleProcessingPipeline 批量写回 articles 表
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticleDerivedFields {
+
+    private Long articleId;
+    private Integer version;         // 计算时读到的版本号，写回时版本已变化的行被跳过
+    private String summary;          // 生成的摘要，只在文章没有摘要时写入
+    private Integer wordCount;
+    private Integer readingMinutes;
+    private String coverImage;
+
+    // 构造函数
+    public ArticleDerivedFields() {}
+
+    // Getter和Setter方法
+    public Long getArticleId() {
+        return articleId;
+    }
+
+    public void setArticleId(Long articleId) {
+        this.articleId = articleId;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public void setSummary(String summary) {
+        this.summary = summary;
+    }
+
+    public Integer getWordCount() {
+        return wordCount;
+    }
+
+    public void setWordCount(Integer wordCount) {
+        this.wordCount = wordCount;
+    }
+
+    public Integer getReadingMinutes() {
+        return readingMinutes;
+    }
+
+    public void setReadingMinutes(Integer readingMinutes) {
+        this.readingMinutes = readingMinutes;
+    }
+
+    public String getCoverImage() {
+        return coverImage;
+    }
+
+    public void setCoverImage(String coverImage) {
+        this.coverImage = coverImage;
+    }
+}
@@ -0,0 +1,74 @@
+package com.community.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 作者统计实体类
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class AuthorStats {
+    
+    private Long userId;
+    private Integer articleCount;    // 文章数（含草稿）
+    private Integer publishedCount;  // 已发布文章数
+    private Long totalViews;         // 已写回数据库的总浏览次数
+    private LocalDateTime updatedAt;
+    
+    // 构造函数
+    public AuthorStats() {}
+    
+    /**
+     * 还没有统计记录的作者
+     */
+    public static AuthorStats empty(Long userId) {
+        AuthorStats stats = new AuthorStats();
+        stats.userId = userId;
+        stats.articleCount = 0;
+        stats.publishedCount = 0;
+        stats.totalViews = 0L;
+        return stats;
+    }
+    
+    // Getter和Setter方法
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Integer getArticleCount() {
+        return articleCount;
+    }
+    
+    public void setArticleCount(Integer articleCount) {
+        this.articleCount = articleCount;
+    }
+    
+    public Integer getPublishedCount() {
+        return publishedCount;
+    }
+    
+    public void setPublishedCount(Integer publishedCount) {
+        this.publishedCount = publishedCount;
+    }
+    
+    public Long getTotalViews() {
+        return totalViews;
+    }
+    
+    public void setTotalViews(Long totalViews) {
+        this.totalViews = totalViews;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
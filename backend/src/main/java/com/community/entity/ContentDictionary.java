@@ -0,0 +1,55 @@
+package com.community.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 正文压缩字典实体类（content_dictionaries 表）
+ * 
+ * 字典由已有正文训练生成，只增不改；每条正文记录自己使用的字典ID。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ContentDictionary {
+    
+    private Integer id;
+    private byte[] data;
+    private Integer sampleCount;  // 训练使用的文章数
+    private LocalDateTime createdAt;
+    
+    // 构造函数
+    public ContentDictionary() {}
+    
+    // Getter和Setter方法
+    public Integer getId() {
+        return id;
+    }
+    
+    public void setId(Integer id) {
+        this.id = id;
+    }
+    
+    public byte[] getData() {
+        return data;
+    }
+    
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+    
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+    
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -18,12 +18,28 @@ public class User {
     private String password;
     private String avatar;
     private String bio;
+    private Integer version;  // 乐观锁版本号，每次更新加1
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     
     // 构造函数
     public User() {}
     
+    /**
+     * 复制构造函数
+     */
+    public User(User other) {
+        this.id = other.id;
+        this.username = other.username;
+        this.email = other.email;
+        this.password = other.password;
+        this.avatar = other.avatar;
+        this.bio = other.bio;
+        this.version = other.version;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+    }
+    
     public User(String username, String email, String password) {
         this.username = username;
         this.email = email;
@@ -79,6 +95,14 @@ public class User {
         this.bio = bio;
     }
     
+    public Integer getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Integer version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,59 @@
+package com.community.event;
+
+import com.community.entity.Article;
+
+/**
+ * 文章变更事件（发布、更新、删除）
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticleChangedEvent {
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+    
+    private final Type type;
+    private final Article previous;  // 变更前的文章，新建时为null
+    private final Article current;   // 变更后的文章，删除时为null
+    
+    public ArticleChangedEvent(Type type, Article previous, Article current) {
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public Article getPrevious() {
+        return previous;
+    }
+    
+    public Article getCurrent() {
+        return current;
+    }
+    
+    /**
+     * 文章ID
+     */
+    public Long getArticleId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+    
+    /**
+     * 变更后是否为已发布状态
+     */
+    public boolean isPublishedAfter() {
+        return current != null && "PUBLISHED".equals(current.getStatus());
+    }
+    
+    /**
+     * 变更前是否为已发布状态
+     */
+    public boolean isPublishedBefore() {
+        return previous != null && "PUBLISHED".equals(previous.getStatus());
+    }
+}
@@ -0,0 +1,20 @@
+package com.community.event;
+
+/**
+ * 文章批量导入完成事件，首页快照和检索索引收到后全量重建
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticlesImportedEvent {
+    
+    private final long inserted;
+    
+    public ArticlesImportedEvent(long inserted) {
+        this.inserted = inserted;
+    }
+    
+    public long getInserted() {
+        return inserted;
+    }
+}
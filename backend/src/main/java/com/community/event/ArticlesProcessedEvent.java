@@ -0,0 +1,26 @@
+package com.community.event;
+
+import com.community.entity.ArticleDerivedFields;
+
+import java.util.List;
+
+/**
+ * 文章派生字段（摘要、字数、阅读时间、封面图）写回数据库事件
+ * 
+ * 派生字段写回时不修改版本号，持有文章副本的缓存收到后需要更新或移除对应的文章。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ArticlesProcessedEvent {
+    
+    private final List<ArticleDerivedFields> fields;
+    
+    public ArticlesProcessedEvent(List<ArticleDerivedFields> fields) {
+        this.fields = fields;
+    }
+    
+    public List<ArticleDerivedFields> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,20 @@
+package com.community.event;
+
+/**
+ * 用户信息更新事件
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class UserUpdatedEvent {
+    
+    private final Long userId;
+    
+    public UserUpdatedEvent(Long userId) {
+        this.userId = userId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+}
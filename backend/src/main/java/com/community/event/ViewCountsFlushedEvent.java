@@ -0,0 +1,22 @@
+package com.community.event;
+
+import java.util.Map;
+
+/**
+ * 浏览次数写回数据库事件
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class ViewCountsFlushedEvent {
+    
+    private final Map<Long, Long> deltas;  // 文章ID -> 本次写回的增量
+    
+    public ViewCountsFlushedEvent(Map<Long, Long> deltas) {
+        this.deltas = deltas;
+    }
+    
+    public Map<Long, Long> getDeltas() {
+        return deltas;
+    }
+}
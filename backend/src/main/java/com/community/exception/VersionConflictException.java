@@ -0,0 +1,22 @@
+package com.community.exception;
+
+/**
+ * 乐观锁版本冲突异常，携带数据库中当前最新的数据
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class VersionConflictException extends RuntimeException {
+    
+    private final transient Object current;
+    
+    public VersionConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public <T> T getCurrent() {
+        return (T) current;
+    }
+}
@@ -0,0 +1,73 @@
+package com.community.filter;
+
+import com.community.config.AuthProperties;
+import com.community.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+
+/**
+ * 认证过滤器
+ * 
+ * 从HttpSession（session模式）或签名令牌（token模式）中解析当前用户ID，
+ * 写入请求属性 userId，控制器通过 @RequestAttribute 获取，与认证方式无关。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+public class AuthenticationFilter extends OncePerRequestFilter {
+    
+    public static final String USER_ID_ATTRIBUTE = "userId";
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    @Autowired
+    private AuthProperties authProperties;
+    
+    @Autowired
+    private TokenService tokenService;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId;
+        if (authProperties.isTokenMode()) {
+            userId = tokenService.verify(resolveToken(request));
+        } else {
+            HttpSession session = request.getSession(false);
+            userId = session == null ? null : (Long) session.getAttribute(USER_ID_ATTRIBUTE);
+        }
+        if (userId != null) {
+            request.setAttribute(USER_ID_ATTRIBUTE, userId);
+        }
+        chain.doFilter(request, response);
+    }
+    
+    /**
+     * 优先读取 Authorization 请求头，其次读取Cookie
+     */
+    private String resolveToken(HttpServletRequest request) {
+        String header = request.getHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            return header.substring(BEARER_PREFIX.length()).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            String cookieName = authProperties.getToken().getCookieName();
+            for (Cookie cookie : cookies) {
+                if (cookieName.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+}
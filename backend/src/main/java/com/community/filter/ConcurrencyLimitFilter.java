@@ -0,0 +1,128 @@
+package com.community.filter;
+
+import com.community.config.ConcurrencyLimitProperties;
+import com.community.dto.ApiResponse;
+import com.community.limit.GradientLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * 并发限制过滤器
+ * 
+ * 文章的读请求（GET /articles*、POST /articles/batch）和写请求（发布、更新、删除）分别使用自适应并发上限，
+ * 超出时立即返回 503 和 Retry-After，不占用线程排队，保证数据库变慢时其他接口仍能响应。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    private static final String ARTICLES_PATH = "/articles";
+    // 长连接的流式接口不参与限流，耗时会干扰延迟统计
+    private static final String EXPORT_PATH = "/articles/export";
+    private static final String STREAM_PATH = "/articles/stream";
+    // 批量查询使用 POST 传递ID列表，按读请求限流
+    private static final String BATCH_PATH = "/articles/batch";
+    
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GradientLimiter readLimiter;
+    private final GradientLimiter writeLimiter;
+    
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.readLimiter = createLimiter("read", properties.getRead());
+        this.writeLimiter = createLimiter("write", properties.getWrite());
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        GradientLimiter limiter = limiterFor(request);
+        if (limiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (failed) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        }
+    }
+    
+    /**
+     * 各类请求的当前并发上限和拒绝次数
+     * 
+     * @return 统计信息
+     */
+    public List<GradientLimiter.Stats> getStats() {
+        return List.of(readLimiter.stats(), writeLimiter.stats());
+    }
+    
+    private GradientLimiter limiterFor(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(ARTICLES_PATH) || path.startsWith(EXPORT_PATH) || path.startsWith(STREAM_PATH)) {
+            return null;
+        }
+        if (path.equals(BATCH_PATH)) {
+            return readLimiter;
+        }
+        switch (request.getMethod()) {
+            case "GET":
+            case "HEAD":
+                return readLimiter;
+            case "POST":
+            case "PUT":
+            case "DELETE":
+                return writeLimiter;
+            default:
+                return null;
+        }
+    }
+    
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("服务繁忙，请 " + properties.getRetryAfterSeconds() + " 秒后重试", 503));
+    }
+    
+    private GradientLimiter createLimiter(String name, ConcurrencyLimitProperties.LimitClass limitClass) {
+        return new GradientLimiter(name, limitClass.getInitialLimit(), limitClass.getMinLimit(),
+                limitClass.getMaxLimit(), properties.getTolerance(), properties.getSmoothing());
+    }
+}
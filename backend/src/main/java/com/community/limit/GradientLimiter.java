@@ -0,0 +1,168 @@
+package com.community.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于延迟梯度的自适应并发限制
+ * 
+ * 同时维护短期和长期的平均响应时间：短期延迟明显高于长期延迟说明下游开始排队，
+ * 按 长期/短期 的比例收缩并发上限；延迟平稳时每次增加约 sqrt(limit) 的余量向上探测。
+ * 请求异常时按比例降低上限。超过上限的请求直接拒绝，不排队。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class GradientLimiter {
+    
+    private static final double SHORT_ALPHA = 2.0 / (10 + 1);   // 约最近10个请求
+    private static final double LONG_ALPHA = 2.0 / (600 + 1);   // 约最近600个请求
+    // 长期延迟上升得更慢：持续变慢时不会很快被当成新的正常水平
+    private static final double LONG_RISE_ALPHA = LONG_ALPHA / 10;
+    private static final double BACKOFF_RATIO = 0.9;
+    
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;   // 短期延迟超过长期延迟多少倍以内仍视为正常
+    private final double smoothing;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    private volatile double limit;
+    // 以下字段只在 synchronized 的 onSample 中读写
+    private double shortRttNanos;
+    private double longRttNanos;
+    
+    public GradientLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                           double tolerance, double smoothing) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    /**
+     * 尝试占用一个并发名额
+     * 
+     * @return 成功时返回true，此后必须调用 {@link #onSuccess(long)} 或 {@link #onDropped()} 释放
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * 请求正常完成
+     * 
+     * @param rttNanos 请求耗时（纳秒）
+     */
+    public void onSuccess(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        onSample(rttNanos, current);
+    }
+    
+    /**
+     * 请求异常，按比例降低上限
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+    
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) * SHORT_ALPHA;
+        longRttNanos += (rttNanos - longRttNanos) * (rttNanos > longRttNanos ? LONG_RISE_ALPHA : LONG_ALPHA);
+        // 负载下降后让长期延迟尽快回落，避免一直按旧的高延迟计算
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+        // 并发远未达到上限时，延迟不能说明上限是否合适
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+    
+    /**
+     * 当前状态
+     * 
+     * @return 统计信息
+     */
+    public synchronized Stats stats() {
+        Stats stats = new Stats();
+        stats.name = name;
+        stats.limit = (int) limit;
+        stats.inFlight = inFlight.get();
+        stats.accepted = accepted.sum();
+        stats.rejected = rejected.sum();
+        stats.shortRttMillis = shortRttNanos / 1_000_000;
+        stats.longRttMillis = longRttNanos / 1_000_000;
+        return stats;
+    }
+    
+    /**
+     * 限流统计
+     */
+    public static class Stats {
+        
+        private String name;
+        private int limit;
+        private int inFlight;
+        private long accepted;
+        private long rejected;
+        private double shortRttMillis;
+        private double longRttMillis;
+        
+        public String getName() {
+            return name;
+        }
+        
+        public int getLimit() {
+            return limit;
+        }
+        
+        public int getInFlight() {
+            return inFlight;
+        }
+        
+        public long getAccepted() {
+            return accepted;
+        }
+        
+        public long getRejected() {
+            return rejected;
+        }
+        
+        public double getShortRttMillis() {
+            return shortRttMillis;
+        }
+        
+        public double getLongRttMillis() {
+            return longRttMillis;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.community.mapper;
+
+import com.community.entity.Article;
+import com.community.entity.ArticleContent;
+import com.community.entity.ContentDictionary;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 文章正文数据访问层
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Mapper
+public interface ArticleContentMapper {
+    
+    /**
+     * 写入正文，已存在时覆盖
+     * 
+     * @param content 编码后的正文
+     * @return 影响行数
+     */
+    int upsert(ArticleContent content);
+    
+    /**
+     * 批量写入正文，已存在的行保持不变（迁移时不覆盖迁移期间更新过的正文）
+     * 
+     * @param contents 编码后的正文
+     * @return 实际插入的行数
+     */
+    int insertIgnoreBatch(@Param("contents") List<ArticleContent> contents);
+    
+    /**
+     * 按ID顺序查询正文仍存放在 articles 表中的文章（只返回 id 和 content）
+     * 
+     * @param afterId 从该ID之后开始
+     * @param limit 最大返回条数
+     * @return 文章列表
+     */
+    List<Article> findLegacyContents(@Param("afterId") long afterId, @Param("limit") int limit);
+    
+    /**
+     * 清空已迁移文章在 articles 表中的正文（保留 updated_at）
+     * 
+     * @param ids 文章ID
+     * @return 影响行数
+     */
+    int clearLegacyContents(@Param("ids") List<Long> ids);
+    
+    /**
+     * 取最新的若干篇仍存放在 articles 表中的正文，用于训练字典
+     * 
+     * @param limit 最大返回条数
+     * @return 正文列表
+     */
+    List<String> sampleLegacyContents(@Param("limit") int limit);
+    
+    /**
+     * 取最新的若干篇已编码的正文，用于训练字典
+     * 
+     * @param limit 最大返回条数
+     * @return 编码后的正文
+     */
+    List<ArticleContent> sampleContents(@Param("limit") int limit);
+    
+    /**
+     * 查询所有压缩字典
+     * 
+     * @return 字典列表，按ID升序
+     */
+    List<ContentDictionary> findDictionaries();
+    
+    /**
+     * 插入压缩字典
+     * 
+     * @param dictionary 字典，id 必填
+     * @return 影响行数
+     */
+    int insertDictionary(ContentDictionary dictionary);
+}
@@ -1,10 +1,18 @@
 package com.community.mapper;
 
+import com.community.dto.ArticleListFields;
+import com.community.dto.ArticleListItem;
 import com.community.entity.Article;
+import com.community.entity.ArticleDerivedFields;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 文章数据访问层
@@ -24,19 +32,52 @@ public interface ArticleMapper {
     Article findById(@Param("id") Long id);
     
     /**
-     * 查询所有已发布的文章
+     * 根据ID批量查询文章（含作者信息）
      * 
+     * @param ids 文章ID集合
+     * @return 文章列表，不存在的ID不包含在结果中
+     */
+    List<Article> findByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 批量查询文章的作者（只返回 id 和 authorId）
+     * 
+     * @param ids 文章ID集合
+     * @return 文章列表，不存在的ID不包含在结果中
+     */
+    List<Article> findAuthorIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 查询已发布的文章（不含正文）
+     * 
+     * @param columns 查询的列，见 {@link ArticleListFields#getColumns()}
+     * @param limit 最大返回条数
      * @return 文章列表
      */
-    List<Article> findPublishedArticles();
+    List<ArticleListItem> findPublishedArticles(@Param("columns") List<String> columns, @Param("limit") int limit);
     
     /**
-     * 根据作者ID查询文章
+     * 按 (created_at, id) 游标分页查询已发布的文章
      * 
+     * @param columns 查询的列，见 {@link ArticleListFields#getColumns()}
+     * @param cursorCreatedAt 游标位置的创建时间，为null时从第一页开始
+     * @param cursorId 游标位置的文章ID
+     * @param limit 最大返回条数
+     * @return 文章列表
+     */
+    List<ArticleListItem> findPublishedArticlesAfter(@Param("columns") List<String> columns,
+                                                     @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                     @Param("cursorId") Long cursorId,
+                                                     @Param("limit") int limit);
+    
+    /**
+     * 根据作者ID查询文章（不含正文）
+     * 
+     * @param columns 查询的列，见 {@link ArticleListFields#getColumns()}
      * @param authorId 作者ID
      * @return 文章列表
      */
-    List<Article> findByAuthorId(@Param("authorId") Long authorId);
+    List<ArticleListItem> findByAuthorId(@Param("columns") List<String> columns, @Param("authorId") Long authorId);
     
     /**
      * 根据状态查询文章
@@ -46,6 +87,45 @@ public interface ArticleMapper {
      */
     List<Article> findByStatus(@Param("status") String status);
     
+    /**
+     * 逐行读取所有已发布的文章（不会一次性加载到内存）
+     * 
+     * @param handler 逐行处理结果
+     */
+    void scanPublished(ResultHandler<Article> handler);
+    
+    /**
+     * 按条件游标读取文章（用于导出），必须在事务内遍历并关闭
+     * 
+     * @param status 状态，为null时不限
+     * @param authorId 作者ID，为null时不限
+     * @param createdFrom 创建时间下限（包含），为null时不限
+     * @param createdTo 创建时间上限（不包含），为null时不限
+     * @return 文章游标
+     */
+    Cursor<Article> exportArticles(@Param("status") String status,
+                                   @Param("authorId") Long authorId,
+                                   @Param("createdFrom") LocalDateTime createdFrom,
+                                   @Param("createdTo") LocalDateTime createdTo);
+    
+    /**
+     * 批量查询文章和正文（用于计算派生字段）
+     * 
+     * @param ids 文章ID集合
+     * @return 文章列表，不存在的ID不包含在结果中
+     */
+    List<Article> findWithContentByIds(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * 按ID顺序分批查询需要计算派生字段的文章ID
+     * 
+     * @param afterId 从大于该ID的文章开始
+     * @param limit 最大返回条数
+     * @param all 为true时返回所有文章，否则只返回尚未计算过的文章
+     * @return 文章ID列表
+     */
+    List<Long> findIdsForProcessing(@Param("afterId") long afterId, @Param("limit") int limit, @Param("all") boolean all);
+    
     /**
      * 插入新文章
      * 
@@ -54,6 +134,14 @@ public interface ArticleMapper {
      */
     int insert(Article article);
     
+    /**
+     * 批量插入文章（多行 INSERT IGNORE，ID已存在或作者不存在的行被跳过）
+     * 
+     * @param articles 文章列表，ID为空时自动生成
+     * @return 实际插入的行数
+     */
+    int insertBatch(@Param("articles") List<Article> articles);
+    
     /**
      * 更新文章信息
      * 
@@ -62,6 +150,22 @@ public interface ArticleMapper {
      */
     int update(Article article);
     
+    /**
+     * 按作者和版本号更新文章（version 加1，updated_at 使用传入的值）
+     * 
+     * @param article 文章信息，id、authorId、updatedAt 必填，version 为空时不检查版本
+     * @return 影响行数，为0表示文章不存在、不属于该作者或版本已变化
+     */
+    int updateVersioned(Article article);
+    
+    /**
+     * 批量写回派生字段（一条 UPDATE，不修改 version 和 updated_at）
+     * 
+     * @param fields 派生字段列表
+     * @return 影响行数，计算后文章又被修改（版本号变化）的行不更新
+     */
+    int updateDerivedFields(@Param("fields") List<ArticleDerivedFields> fields);
+    
     /**
      * 删除文章
      * 
@@ -77,4 +181,12 @@ public interface ArticleMapper {
      * @return 影响行数
      */
     int incrementViewCount(@Param("id") Long id);
+    
+    /**
+     * 批量增加文章浏览次数
+     * 
+     * @param deltas 文章ID -> 浏览次数增量
+     * @return 影响行数
+     */
+    int incrementViewCounts(@Param("deltas") Map<Long, Long> deltas);
 }
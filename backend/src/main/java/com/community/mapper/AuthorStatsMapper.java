@@ -0,0 +1,70 @@
+package com.community.mapper;
+
+import com.community.entity.AuthorStats;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Map;
+
+/**
+ * 作者统计数据访问层
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Mapper
+public interface AuthorStatsMapper {
+    
+    /**
+     * 根据作者ID查询统计
+     * 
+     * @param userId 作者ID
+     * @return 统计信息，没有记录时返回null
+     */
+    AuthorStats findByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 在现有计数上累加增量，没有记录时插入
+     * 
+     * @param userId 作者ID
+     * @param articleDelta 文章数增量
+     * @param publishedDelta 已发布文章数增量
+     * @param viewDelta 浏览次数增量
+     * @return 影响行数
+     */
+    int applyDelta(@Param("userId") Long userId, @Param("articleDelta") int articleDelta,
+                   @Param("publishedDelta") int publishedDelta, @Param("viewDelta") long viewDelta);
+    
+    /**
+     * 批量累加浏览次数，一条多行 INSERT ... ON DUPLICATE KEY UPDATE
+     * 
+     * @param deltas 作者ID -> 浏览次数增量
+     * @return 影响行数
+     */
+    int addViews(@Param("deltas") Map<Long, Long> deltas);
+    
+    /**
+     * 按 articles 表重新计算 [fromUserId, toUserId) 范围内作者的统计
+     * 
+     * @param fromUserId 起始作者ID（含）
+     * @param toUserId 结束作者ID（不含）
+     * @return 影响行数
+     */
+    int reconcileRange(@Param("fromUserId") long fromUserId, @Param("toUserId") long toUserId);
+    
+    /**
+     * 把 [fromUserId, toUserId) 范围内已经没有文章的作者统计清零
+     * 
+     * @param fromUserId 起始作者ID（含）
+     * @param toUserId 结束作者ID（不含）
+     * @return 影响行数
+     */
+    int clearRangeWithoutArticles(@Param("fromUserId") long fromUserId, @Param("toUserId") long toUserId);
+    
+    /**
+     * 最大用户ID，校对时按ID范围分批
+     * 
+     * @return 最大用户ID，没有用户时为0
+     */
+    long findMaxUserId();
+}
@@ -3,6 +3,10 @@ package com.community.mapper;
 import com.community.entity.User;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * 用户数据访问层
@@ -21,6 +25,14 @@ public interface UserMapper {
      */
     User findById(@Param("id") Long id);
     
+    /**
+     * 根据ID批量查询作者信息（不含密码）
+     * 
+     * @param ids 用户ID集合，不能为空
+     * @return 用户列表，顺序不保证
+     */
+    List<User> findByIds(@Param("ids") Collection<Long> ids);
+    
     /**
      * 根据用户名查询用户
      * 
@@ -29,6 +41,14 @@ public interface UserMapper {
      */
     User findByUsername(@Param("username") String username);
     
+    /**
+     * 根据用户名批量查询用户
+     * 
+     * @param usernames 用户名集合
+     * @return 用户列表，不存在的用户名不包含在结果中
+     */
+    List<User> findByUsernames(@Param("usernames") Collection<String> usernames);
+    
     /**
      * 根据邮箱查询用户
      * 
@@ -37,6 +57,20 @@ public interface UserMapper {
      */
     User findByEmail(@Param("email") String email);
     
+    /**
+     * 用户总数
+     * 
+     * @return 用户数
+     */
+    long countAll();
+    
+    /**
+     * 逐行读取所有用户的用户名和邮箱（不会一次性加载到内存）
+     * 
+     * @param handler 逐行处理结果
+     */
+    void scanUsernamesAndEmails(ResultHandler<User> handler);
+    
     /**
      * 插入新用户
      * 
@@ -45,6 +79,14 @@ public interface UserMapper {
      */
     int insert(User user);
     
+    /**
+     * 批量插入用户（多行 INSERT IGNORE，ID、用户名或邮箱已存在的行被跳过）
+     * 
+     * @param users 用户列表，ID为空时自动生成
+     * @return 实际插入的行数
+     */
+    int insertBatch(@Param("users") List<User> users);
+    
     /**
      * 更新用户信息
      * 
@@ -53,6 +95,14 @@ public interface UserMapper {
      */
     int update(User user);
     
+    /**
+     * 按版本号更新头像和简介（version 加1，updated_at 使用传入的值）
+     * 
+     * @param user 用户信息，id、updatedAt 必填，version 为空时不检查版本
+     * @return 影响行数，为0表示用户不存在或版本已变化
+     */
+    int updateProfile(User user);
+    
     /**
      * 删除用户
      * 
@@ -0,0 +1,83 @@
+package com.community.metrics;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 慢查询环形缓冲区
+ * 
+ * 只保存最近 capacity 条超过阈值的执行记录，写满后覆盖最旧的记录。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class SlowQueryLog {
+    
+    private final AtomicReferenceArray<Entry> entries;
+    private final AtomicLong cursor = new AtomicLong();
+    
+    public SlowQueryLog(int capacity) {
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+    
+    /**
+     * 记录一次慢查询
+     */
+    public void add(String statementId, long micros, String parameters) {
+        int index = (int) (cursor.getAndIncrement() % entries.length());
+        entries.set(index, new Entry(statementId, micros, parameters, LocalDateTime.now()));
+    }
+    
+    /**
+     * 按耗时倒序返回缓冲区中的记录
+     */
+    public List<Entry> getEntries() {
+        List<Entry> result = new ArrayList<>();
+        for (int i = 0; i < entries.length(); i++) {
+            Entry entry = entries.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparingLong(Entry::getMicros).reversed());
+        return result;
+    }
+    
+    /**
+     * 慢查询记录
+     */
+    public static class Entry {
+        
+        private final String statementId;
+        private final long micros;
+        private final String parameters;
+        private final LocalDateTime time;
+        
+        public Entry(String statementId, long micros, String parameters, LocalDateTime time) {
+            this.statementId = statementId;
+            this.micros = micros;
+            this.parameters = parameters;
+            this.time = time;
+        }
+        
+        public String getStatementId() {
+            return statementId;
+        }
+        
+        public long getMicros() {
+            return micros;
+        }
+        
+        public String getParameters() {
+            return parameters;
+        }
+        
+        public LocalDateTime getTime() {
+            return time;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.community.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单条SQL语句（MappedStatement）的统计
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class StatementMetrics {
+    
+    private final String statementId;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    
+    public StatementMetrics(String statementId) {
+        this.statementId = statementId;
+    }
+    
+    /**
+     * 记录一次执行
+     * 
+     * @param micros 耗时（微秒）
+     * @param rowCount 返回或影响的行数
+     * @param failed 是否执行失败
+     */
+    public void record(long micros, int rowCount, boolean failed) {
+        latency.record(micros);
+        rows.add(rowCount);
+        if (failed) {
+            errors.increment();
+        }
+    }
+    
+    /**
+     * 生成统计快照
+     */
+    public Snapshot snapshot() {
+        long count = latency.getCount();
+        return new Snapshot(statementId, count, errors.sum(), rows.sum(),
+                count == 0 ? 0 : latency.getSum() / count,
+                latency.percentile(0.5), latency.percentile(0.99), latency.percentile(0.999),
+                latency.getMax(), latency.getSum());
+    }
+    
+    /**
+     * 统计快照（时间单位为微秒）
+     */
+    public static class Snapshot {
+        
+        private final String statementId;
+        private final long count;
+        private final long errors;
+        private final long rows;
+        private final long mean;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+        private final long total;
+        
+        public Snapshot(String statementId, long count, long errors, long rows, long mean,
+                        long p50, long p99, long p999, long max, long total) {
+            this.statementId = statementId;
+            this.count = count;
+            this.errors = errors;
+            this.rows = rows;
+            this.mean = mean;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+            this.total = total;
+        }
+        
+        public String getStatementId() {
+            return statementId;
+        }
+        
+        public long getCount() {
+            return count;
+        }
+        
+        public long getErrors() {
+            return errors;
+        }
+        
+        public long getRows() {
+            return rows;
+        }
+        
+        public long getMean() {
+            return mean;
+        }
+        
+        public long getP50() {
+            return p50;
+        }
+        
+        public long getP99() {
+            return p99;
+        }
+        
+        public long getP999() {
+            return p999;
+        }
+        
+        public long getMax() {
+            return max;
+        }
+        
+        public long getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.community.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 倒排索引
+ * 
+ * 每个词的倒排表用两个int数组保存（内部文档号、加权词频），文档号按写入顺序递增。
+ * 删除和更新只在位图中标记旧文档，删除比例超过阈值时压缩倒排表。评分使用BM25。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class InvertedIndex {
+    
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final double COMPACT_RATIO = 0.2;
+    
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> docIdByKey = new HashMap<>();
+    private long[] keys = new long[1024];       // 内部文档号 -> 文章ID
+    private int[] docLengths = new int[1024];   // 内部文档号 -> 加权文档长度
+    private final BitSet deleted = new BitSet();
+    private int docCount;
+    private int deletedCount;
+    private long totalLength;
+    
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    /**
+     * 写入或替换文档
+     * 
+     * @param key 文章ID
+     * @param fields 各字段的文本和权重
+     */
+    public void put(long key, Map<String, Integer> fields) {
+        // 在锁外分词并统计词频
+        Map<String, Integer> termFreqs = new LinkedHashMap<>();
+        int length = 0;
+        for (Map.Entry<String, Integer> field : fields.entrySet()) {
+            int weight = field.getValue();
+            for (String token : Tokenizer.tokenize(field.getKey())) {
+                termFreqs.merge(token, weight, Integer::sum);
+                length += weight;
+            }
+        }
+        
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            compactIfNeeded();
+            int docId = docCount++;
+            if (docId == keys.length) {
+                keys = Arrays.copyOf(keys, keys.length * 2);
+                docLengths = Arrays.copyOf(docLengths, docLengths.length * 2);
+            }
+            keys[docId] = key;
+            docLengths[docId] = length;
+            totalLength += length;
+            docIdByKey.put(key, docId);
+            for (Map.Entry<String, Integer> entry : termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(docId, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 删除文档
+     * 
+     * @param key 文章ID
+     */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 检索
+     * 
+     * @param query 查询语句
+     * @param offset 跳过的结果数
+     * @param limit 返回的结果数
+     * @return 检索结果
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(Tokenizer.tokenize(query)));
+        
+        lock.readLock().lock();
+        try {
+            int liveDocs = docCount - deletedCount;
+            if (terms.isEmpty() || liveDocs == 0) {
+                return new Hits(new long[0], 0);
+            }
+            
+            float avgLength = (float) totalLength / liveDocs;
+            float[] scores = new float[docCount];
+            int[] matched = new int[docCount];
+            int matchedCount = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int docId = list.docs[i];
+                    if (deleted.get(docId)) {
+                        continue;
+                    }
+                    float tf = list.freqs[i];
+                    float norm = K1 * (1 - B + B * docLengths[docId] / avgLength);
+                    if (scores[docId] == 0) {
+                        matched[matchedCount++] = docId;
+                    }
+                    scores[docId] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+            
+            // 按分数倒序排序命中的文档
+            Integer[] order = new Integer[matchedCount];
+            for (int i = 0; i < matchedCount; i++) {
+                order[i] = matched[i];
+            }
+            Arrays.sort(order, (a, b) -> Float.compare(scores[b], scores[a]));
+            
+            int from = Math.min(offset, matchedCount);
+            int to = Math.min(from + limit, matchedCount);
+            long[] result = new long[to - from];
+            for (int i = from; i < to; i++) {
+                result[i - from] = keys[order[i]];
+            }
+            return new Hits(result, matchedCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 当前索引的文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void removeInternal(long key) {
+        Integer docId = docIdByKey.remove(key);
+        if (docId != null) {
+            deleted.set(docId);
+            deletedCount++;
+            totalLength -= docLengths[docId];
+        }
+    }
+    
+    /**
+     * 已删除文档超过阈值时压缩：从倒排表中移除已删除的文档并重新分配文档号
+     */
+    private void compactIfNeeded() {
+        if (deletedCount <= 1000 || deletedCount <= COMPACT_RATIO * docCount) {
+            return;
+        }
+
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int docId = 0; docId < docCount; docId++) {
+            if (deleted.get(docId)) {
+                remap[docId] = -1;
+            } else {
+                remap[docId] = next;
+                keys[next] = keys[docId];
+                docLengths[next] = docLengths[docId];
+                docIdByKey.put(keys[next], next);
+                next++;
+            }
+        }
+        postings.values().removeIf(list -> list.remap(remap) == 0);
+        docCount = next;
+        deletedCount = 0;
+        deleted.clear();
+    }
+    
+    /**
+     * 倒排表
+     */
+    private static class PostingList {
+        
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+        
+        void add(int docId, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = docId;
+            freqs[size] = freq;
+            size++;
+        }
+        
+        /**
+         * 按新文档号重写倒排表
+         * 
+         * @return 剩余条数
+         */
+        int remap(int[] remap) {
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int docId = remap[docs[i]];
+                if (docId >= 0) {
+                    docs[next] = docId;
+                    freqs[next] = freqs[i];
+                    next++;
+                }
+            }
+            size = next;
+            if (docs.length > Math.max(4, size * 2)) {
+                docs = Arrays.copyOf(docs, Math.max(4, size));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size));
+            }
+            return size;
+        }
+    }
+    
+    /**
+     * 检索结果
+     */
+    public static class Hits {
+        
+        private final long[] keys;
+        private final int total;
+        
+        Hits(long[] keys, int total) {
+            this.keys = keys;
+            this.total = total;
+        }
+        
+        /**
+         * 当前页的文章ID（按相关度倒序）
+         */
+        public long[] getKeys() {
+            return keys;
+        }
+        
+        /**
+         * 命中总数
+         */
+        public int getTotal() {
+            return total;
+        }
+    }
+}
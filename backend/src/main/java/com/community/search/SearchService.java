@@ -0,0 +1,182 @@
+package com.community.search;
+
+import com.community.dto.PageResult;
+import com.community.entity.Article;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesImportedEvent;
+import com.community.mapper.ArticleMapper;
+import com.community.service.ArticleService;
+import com.community.utils.ContentAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 文章全文检索服务
+ * 
+ * 启动时从数据库逐行读取已发布文章构建内存倒排索引，之后增量更新：文章的发布和修改由
+ * ArticleProcessingPipeline 在请求之外分批调用 {@link #index}，取消发布和删除由文章变更事件直接移除。
+ * 索引的是去掉Markdown标记后的纯文本。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class SearchService {
+    
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+    
+    // 各字段权重
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SUMMARY_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+    
+    @Autowired
+    private ArticleMapper articleMapper;
+    
+    @Autowired
+    private ArticleService articleService;
+    
+    // 单页最大条数
+    @Value("${community.search.page-max-size:50}")
+    private int pageMaxSize;
+    
+    private volatile InvertedIndex index = new InvertedIndex();
+    // 正在重建的索引，重建期间的变更同时写入
+    private volatile InvertedIndex rebuilding;
+    
+    /**
+     * 应用启动后在后台构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildInBackground();
+    }
+    
+    /**
+     * 批量导入文章后在后台重建索引
+     */
+    @EventListener
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        rebuildInBackground();
+    }
+    
+    private void rebuildInBackground() {
+        Thread thread = new Thread(this::rebuild, "search-index-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    /**
+     * 从数据库全量重建索引，构建完成后替换当前索引（同一时间只有一个重建在进行）
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        InvertedIndex rebuilt = new InvertedIndex();
+        rebuilding = rebuilt;
+        try {
+            articleMapper.scanPublished(context -> {
+                Article article = context.getResultObject();
+                String text = article.getContent() == null ? null : ContentAnalyzer.analyze(article.getContent()).getPlainText();
+                rebuilt.put(article.getId(), fieldsOf(article.getTitle(), article.getSummary(), text));
+            });
+        } catch (RuntimeException e) {
+            log.warn("文章索引构建失败", e);
+            return;
+        } finally {
+            rebuilding = null;
+        }
+        index = rebuilt;
+        log.info("文章索引构建完成，共 {} 篇，耗时 {} ms", rebuilt.size(), System.currentTimeMillis() - start);
+    }
+    
+    /**
+     * 文章取消发布或删除时从索引中移除，发布和修改由 {@link #index} 处理
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isPublishedBefore() && !event.isPublishedAfter()) {
+            remove(event.getArticleId());
+        }
+    }
+    
+    /**
+     * 按文章的最新状态更新索引：已发布的文章加入或替换，其他状态（包括已删除）的文章移除
+     * 
+     * @param articleId 文章ID
+     * @param article 文章，已删除时为null
+     * @param summary 摘要
+     * @param plainText 正文的纯文本
+     */
+    public void index(Long articleId, Article article, String summary, String plainText) {
+        if (article == null || !"PUBLISHED".equals(article.getStatus())) {
+            remove(articleId);
+            return;
+        }
+        Map<String, Integer> fields = fieldsOf(article.getTitle(), summary, plainText);
+        index.put(articleId, fields);
+        InvertedIndex target = rebuilding;
+        if (target != null) {
+            target.put(articleId, fields);
+        }
+    }
+    
+    /**
+     * 检索文章
+     * 
+     * @param query 查询语句
+     * @param page 页码（从1开始）
+     * @param size 每页条数
+     * @return 按相关度排序的文章
+     */
+    public PageResult<Article> search(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, pageMaxSize));
+        int pageNum = Math.max(1, page);
+        InvertedIndex.Hits hits = index.search(query, (pageNum - 1) * pageSize, pageSize);
+        
+        // 当前页的文章一次批量查询（缓存未命中的合并为一次 IN 查询）
+        List<Long> ids = new ArrayList<>(hits.getKeys().length);
+        for (long id : hits.getKeys()) {
+            ids.add(id);
+        }
+        List<Article> articles = new ArrayList<>(ids.size());
+        for (Article article : articleService.findByIds(ids)) {
+            if (article != null) {
+                article.setContent(null);  // 列表结果不返回正文
+                articles.add(article);
+            }
+        }
+        return new PageResult<>(articles, hits.getTotal(), pageNum, pageSize);
+    }
+    
+    private void remove(Long articleId) {
+        index.remove(articleId);
+        InvertedIndex target = rebuilding;
+        if (target != null) {
+            target.remove(articleId);
+        }
+    }
+    
+    private static Map<String, Integer> fieldsOf(String title, String summary, String text) {
+        Map<String, Integer> fields = new LinkedHashMap<>();
+        putField(fields, title, TITLE_WEIGHT);
+        putField(fields, summary, SUMMARY_WEIGHT);
+        putField(fields, text, CONTENT_WEIGHT);
+        return fields;
+    }
+    
+    private static void putField(Map<String, Integer> fields, String text, int weight) {
+        if (text != null) {
+            fields.merge(text, weight, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.community.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 分词器
+ * 
+ * 拉丁字母和数字按连续片段切分并转为小写；中日韩文字每个字作为一个词（unigram），
+ * 同时按相邻两字切分（bigram）。单字查询匹配包含该字的文本，多字查询的bigram命中较少、IDF较高，
+ * 相邻两字都匹配的文档排在只匹配单字的文档前面。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class Tokenizer {
+    
+    /**
+     * 切分文本
+     * 
+     * @param text 文本
+     * @return 词列表（保留重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            int codePoint = text.codePointAt(i);
+            if (isCjk(codePoint)) {
+                int prev = -1;
+                while (i < length && isCjk(text.codePointAt(i))) {
+                    int charCount = Character.charCount(text.codePointAt(i));
+                    tokens.add(text.substring(i, i + charCount));
+                    if (prev >= 0) {
+                        tokens.add(text.substring(prev, i + charCount));
+                    }
+                    prev = i;
+                    i += charCount;
+                }
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                int start = i;
+                while (i < length) {
+                    int cp = text.codePointAt(i);
+                    if (!Character.isLetterOrDigit(cp) || isCjk(cp)) {
+                        break;
+                    }
+                    i += Character.charCount(cp);
+                }
+                tokens.add(text.substring(start, i).toLowerCase());
+            } else {
+                i += Character.charCount(codePoint);
+            }
+        }
+        return tokens;
+    }
+    
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+}
@@ -0,0 +1,329 @@
+package com.community.service;
+
+import com.community.datasource.ReadWriteRouting;
+import com.community.entity.Article;
+import com.community.entity.ArticleContent;
+import com.community.entity.ContentDictionary;
+import com.community.event.ArticlesImportedEvent;
+import com.community.mapper.ArticleContentMapper;
+import com.community.utils.ContentCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章正文存储服务
+ *
+ * 正文压缩后存放在 article_contents 表，articles 表只保留元数据，列表扫描不再读取正文所在的页。
+ * 压缩使用由已有正文训练的字典（content_dictionaries 表，只增不改），新写入的正文使用最新的字典。
+ * 启动时加载所有字典，之后遇到其他实例训练的新字典时在解码前重新加载。
+ *
+ * articles.content 中的旧正文（升级前的数据和批量导入的数据）由后台任务按主键分批迁移：
+ * 每批在一个事务内写入 article_contents（已存在的行不覆盖）并清空旧正文，迁移期间文章可以正常读写。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class ArticleContentService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleContentService.class);
+
+    @Autowired
+    private ArticleContentMapper articleContentMapper;
+
+    @Value("${community.content.dictionary-enabled:true}")
+    private boolean dictionaryEnabled;
+
+    @Value("${community.content.dictionary-size:16384}")
+    private int dictionarySize;
+
+    // 训练字典使用的最多文章数，样本不足最少文章数时不训练
+    @Value("${community.content.dictionary-samples:2000}")
+    private int dictionarySamples;
+
+    @Value("${community.content.dictionary-min-samples:100}")
+    private int dictionaryMinSamples;
+
+    @Value("${community.content.migration-batch-size:200}")
+    private int migrationBatchSize;
+
+    // 每批迁移之间的间隔，降低对线上写入的影响
+    @Value("${community.content.migration-pause-ms:50}")
+    private long migrationPauseMs;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 新写入使用的字典ID
+    private volatile int dictionaryId = ContentCodec.NO_DICTIONARY;
+    private volatile int dictionaryBytes;
+    private final AtomicBoolean migrating = new AtomicBoolean();
+    private final LongAdder migratedRows = new LongAdder();
+    private final LongAdder encodedRows = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder storedBytes = new LongAdder();
+
+    // 构造函数
+    public ArticleContentService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 加载所有压缩字典
+     */
+    @PostConstruct
+    public void init() {
+        for (ContentDictionary dictionary : articleContentMapper.findDictionaries()) {
+            register(dictionary);
+        }
+        ContentCodec.setDictionaryLoader(this::loadDictionary);
+    }
+
+    /**
+     * 写入正文，已存在时覆盖；需要与文章的写入在同一事务中调用
+     *
+     * @param articleId 文章ID
+     * @param content 正文
+     */
+    public void save(Long articleId, String content) {
+        articleContentMapper.upsert(encode(articleId, content));
+    }
+
+    /**
+     * 应用启动后在后台迁移旧正文
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        migrateInBackground();
+    }
+
+    /**
+     * 批量导入的正文先写入 articles 表，导入后在后台迁移
+     */
+    @EventListener
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        migrateInBackground();
+    }
+
+    /**
+     * 把 articles.content 中的旧正文压缩后迁移到 article_contents
+     *
+     * 还没有字典时先用旧正文训练一个。每批的读取和写入在同一个事务中执行（走主库），
+     * 读到的正文如果在迁移期间被修改，新正文已写入 article_contents，INSERT IGNORE 不会覆盖。
+     */
+    public void migrate() {
+        if (!migrating.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        long migrated = 0;
+        try {
+            trainDictionaryIfAbsent();
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                List<Article> batch = transactionTemplate.execute(tx -> migrateBatch(afterId));
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                migrated += batch.size();
+                migratedRows.add(batch.size());
+                if (migrationPauseMs > 0) {
+                    Thread.sleep(migrationPauseMs);
+                }
+            }
+            if (migrated > 0) {
+                log.info("正文迁移完成：{} 篇，耗时 {} ms", migrated, System.currentTimeMillis() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("正文迁移失败，已迁移 {} 篇，下次启动时继续", migrated, e);
+        } finally {
+            migrating.set(false);
+        }
+    }
+
+    /**
+     * 当前状态
+     *
+     * @return 统计信息
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        stats.dictionaryId = dictionaryId;
+        stats.dictionaryBytes = dictionaryBytes;
+        stats.migrating = migrating.get();
+        stats.migratedRows = migratedRows.sum();
+        stats.encodedRows = encodedRows.sum();
+        stats.rawBytes = rawBytes.sum();
+        stats.storedBytes = storedBytes.sum();
+        return stats;
+    }
+
+    private List<Article> migrateBatch(long afterId) {
+        List<Article> batch = articleContentMapper.findLegacyContents(afterId, migrationBatchSize);
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        List<ArticleContent> contents = new ArrayList<>(batch.size());
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (Article article : batch) {
+            contents.add(encode(article.getId(), article.getContent()));
+            ids.add(article.getId());
+        }
+        articleContentMapper.insertIgnoreBatch(contents);
+        articleContentMapper.clearLegacyContents(ids);
+        return batch;
+    }
+
+    /**
+     * 还没有字典时，用最新的正文训练一个
+     */
+    private void trainDictionaryIfAbsent() {
+        if (!dictionaryEnabled || dictionaryId != ContentCodec.NO_DICTIONARY) {
+            return;
+        }
+        List<String> samples = new ArrayList<>(articleContentMapper.sampleLegacyContents(dictionarySamples));
+        if (samples.size() < dictionarySamples) {
+            for (ArticleContent content : articleContentMapper.sampleContents(dictionarySamples - samples.size())) {
+                samples.add(ContentCodec.decode(content));
+            }
+        }
+        if (samples.size() < dictionaryMinSamples) {
+            log.info("正文样本不足 {} 篇，暂不训练压缩字典", dictionaryMinSamples);
+            return;
+        }
+        byte[] data = ContentCodec.trainDictionary(samples, dictionarySize);
+        if (data.length == 0) {
+            return;
+        }
+        ContentDictionary dictionary = new ContentDictionary();
+        dictionary.setId(1);
+        dictionary.setData(data);
+        dictionary.setSampleCount(samples.size());
+        try {
+            articleContentMapper.insertDictionary(dictionary);
+        } catch (DuplicateKeyException e) {
+            // 其他实例已训练完成，使用已有的字典
+            init();
+            return;
+        }
+        register(dictionary);
+        log.info("压缩字典训练完成：{} 字节，样本 {} 篇", data.length, samples.size());
+    }
+
+    /**
+     * 解码遇到未加载的字典时重新加载所有字典（由 ContentCodec 加锁调用），新训练的字典在从库上可能还不存在，因此读主库
+     *
+     * @param id 字典ID
+     * @return 字典，仍不存在时为null
+     */
+    private byte[] loadDictionary(int id) {
+        List<ContentDictionary> dictionaries;
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            dictionaries = articleContentMapper.findDictionaries();
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+        }
+        byte[] found = null;
+        for (ContentDictionary dictionary : dictionaries) {
+            register(dictionary);
+            if (dictionary.getId() == id) {
+                found = dictionary.getData();
+            }
+        }
+        if (found == null) {
+            log.warn("压缩字典不存在：{}", id);
+        } else {
+            log.info("加载其他实例训练的压缩字典：{}", id);
+        }
+        return found;
+    }
+
+    private synchronized void register(ContentDictionary dictionary) {
+        ContentCodec.registerDictionary(dictionary.getId(), dictionary.getData());
+        if (dictionary.getId() > dictionaryId) {
+            dictionaryId = dictionary.getId();
+            dictionaryBytes = dictionary.getData().length;
+        }
+    }
+
+    private ArticleContent encode(Long articleId, String content) {
+        ArticleContent encoded = ContentCodec.encode(articleId, content, dictionaryEnabled ? dictionaryId : ContentCodec.NO_DICTIONARY);
+        encodedRows.increment();
+        rawBytes.add(encoded.getRawLength());
+        storedBytes.add(encoded.getData().length);
+        return encoded;
+    }
+
+    private void migrateInBackground() {
+        if (migrating.get()) {
+            return;
+        }
+        Thread thread = new Thread(this::migrate, "article-content-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 正文存储统计
+     */
+    public static class Stats {
+
+        private int dictionaryId;     // 新写入使用的字典ID，0表示不使用字典
+        private int dictionaryBytes;
+        private boolean migrating;
+        private long migratedRows;    // 本进程迁移的旧正文数
+        private long encodedRows;     // 本进程编码的正文数
+        private long rawBytes;        // 编码前的UTF-8字节数
+        private long storedBytes;     // 编码后的字节数
+
+        public int getDictionaryId() {
+            return dictionaryId;
+        }
+
+        public int getDictionaryBytes() {
+            return dictionaryBytes;
+        }
+
+        public boolean isMigrating() {
+            return migrating;
+        }
+
+        public long getMigratedRows() {
+            return migratedRows;
+        }
+
+        public long getEncodedRows() {
+            return encodedRows;
+        }
+
+        public long getRawBytes() {
+            return rawBytes;
+        }
+
+        public long getStoredBytes() {
+            return storedBytes;
+        }
+
+        public double getCompressionRatio() {
+            return storedBytes == 0 ? 0 : (double) rawBytes / storedBytes;
+        }
+    }
+}
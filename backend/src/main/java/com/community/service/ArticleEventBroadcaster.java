@@ -0,0 +1,428 @@
+package com.community.service;
+
+import com.community.entity.Article;
+import com.community.entity.User;
+import com.community.event.ArticleChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 新发布文章的 Server-Sent Events 推送
+ *
+ * 每个订阅者是一个异步请求（ResponseBodyEmitter），不占用请求线程。文章变为已发布时，
+ * 事件只序列化一次为SSE帧，放入每个订阅者的有界队列，由少量发送线程写出；
+ * 队列已满或一次写出超过 slow-client-timeout-ms 仍未完成的订阅者视为慢消费者，直接断开，
+ * 由浏览器的 EventSource 自动重连。
+ *
+ * 写出是阻塞的，且 emitter 在写出期间持有锁，无法从其他线程中止。监控线程按写出期限的几分之一为间隔检查，
+ * 发现超时的写出立即断开该订阅者，并为发送线程池临时增加一个线程顶替被卡住的线程，
+ * 其他订阅者的推送不受影响；被卡住的线程在写出失败（连接超时或关闭）后返回，临时线程随之回收。
+ * 定时发送心跳注释，保持连接不被代理超时关闭，同时发现已断开的连接。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+public class ArticleEventBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleEventBroadcaster.class);
+
+    public static final String EVENT_PUBLISHED = "article-published";
+
+    private static final byte[] HEARTBEAT = ": heartbeat\n\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${community.stream.max-clients:10000}")
+    private int maxClients;
+
+    // 每个订阅者最多积压的帧数，超过后断开
+    @Value("${community.stream.client-buffer-size:32}")
+    private int clientBufferSize;
+
+    // 一次写出的期限，超过后立即断开
+    @Value("${community.stream.slow-client-timeout-ms:2000}")
+    private long slowClientTimeoutMs;
+    
+    // 为顶替卡住的写出最多临时增加的发送线程数
+    @Value("${community.stream.max-stalled-sends:64}")
+    private int maxStalledSends;
+
+    // 连接最长保持时间，到期后由客户端重连
+    @Value("${community.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    // 客户端断线后的重连间隔
+    @Value("${community.stream.retry-ms:3000}")
+    private long retryMs;
+
+    @Value("${community.stream.send-threads:4}")
+    private int sendThreads;
+
+    private final ConcurrentHashMap<Client, Boolean> clients = new ConcurrentHashMap<>();
+    private final AtomicInteger clientCount = new AtomicInteger();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder stalledSends = new LongAdder();
+    private ThreadPoolExecutor sender;
+    private ScheduledExecutorService watchdog;
+    private final Object poolLock = new Object();
+    // 当前卡住的写出数，每个占用一个额外的发送线程（由 poolLock 保护）
+    private int stalled;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(1, sendThreads);
+        sender = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "article-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "article-stream-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(50, slowClientTimeoutMs / 4);
+        watchdog.scheduleWithFixedDelay(this::checkSends, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 新建订阅
+     *
+     * @return 异步响应，订阅者已满时返回null
+     */
+    public ResponseBodyEmitter subscribe() {
+        if (clientCount.incrementAndGet() > maxClients) {
+            clientCount.decrementAndGet();
+            return null;
+        }
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(timeoutMs);
+        Client client = new Client(emitter);
+        clients.put(client, Boolean.TRUE);
+        emitter.onCompletion(() -> remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(e -> remove(client));
+        // 首帧设置重连间隔，同时让浏览器立即收到响应头
+        client.enqueue(("retry: " + retryMs + "\n: connected\n\n").getBytes(StandardCharsets.UTF_8));
+        return emitter;
+    }
+
+    /**
+     * 文章变为已发布（新发布，或草稿改为发布）时推送
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.isPublishedAfter() || event.isPublishedBefore() || clients.isEmpty()) {
+            return;
+        }
+        byte[] frame;
+        try {
+            frame = frame(EVENT_PUBLISHED, event.getArticleId(), summary(event.getCurrent()));
+        } catch (JsonProcessingException e) {
+            log.warn("文章推送事件序列化失败：{}", event.getArticleId(), e);
+            return;
+        }
+        published.increment();
+        for (Client client : clients.keySet()) {
+            client.enqueue(frame);
+        }
+    }
+
+    /**
+     * 定时发送心跳
+     */
+    @Scheduled(fixedDelayString = "${community.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Client client : clients.keySet()) {
+            client.enqueue(HEARTBEAT);
+        }
+    }
+
+    /**
+     * 应用关闭时结束所有订阅
+     */
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        for (Client client : clients.keySet()) {
+            client.close();
+        }
+        sender.shutdown();
+    }
+
+    /**
+     * 当前状态
+     *
+     * @return 统计信息
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        stats.clients = clients.size();
+        stats.maxClients = maxClients;
+        stats.published = published.sum();
+        stats.dropped = dropped.sum();
+        stats.stalledSends = stalledSends.sum();
+        synchronized (poolLock) {
+            stats.stalledThreads = stalled;
+        }
+        return stats;
+    }
+
+    /**
+     * 断开写出超过期限的订阅者，并增加一个发送线程顶替卡住的线程
+     */
+    private void checkSends() {
+        long now = System.nanoTime();
+        long timeoutNanos = slowClientTimeoutMs * 1_000_000;
+        for (Client client : clients.keySet()) {
+            long started = client.sendStartedNanos;
+            if (started == 0 || now - started <= timeoutNanos) {
+                continue;
+            }
+            // 断开后不再出现在 clients 中，每个订阅者只处理一次
+            stalledSends.increment();
+            drop(client);
+            if (addSendThread()) {
+                client.stalled.set(true);
+                // 检查期间写出已经结束时由这里回收；与发送线程各自 getAndSet，只会回收一次
+                if (client.sendStartedNanos != started && client.stalled.getAndSet(false)) {
+                    removeSendThread();
+                }
+            }
+        }
+    }
+
+    private boolean addSendThread() {
+        synchronized (poolLock) {
+            if (stalled >= maxStalledSends) {
+                log.warn("卡住的推送写出已达 {} 个，不再增加发送线程", maxStalledSends);
+                return false;
+            }
+            stalled++;
+            int size = Math.max(1, sendThreads) + stalled;
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+            return true;
+        }
+    }
+
+    /**
+     * 卡住的写出结束后回收顶替的线程
+     */
+    private void removeSendThread() {
+        synchronized (poolLock) {
+            if (stalled == 0) {
+                return;
+            }
+            stalled--;
+            int size = Math.max(1, sendThreads) + stalled;
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private byte[] frame(String event, Long id, Object data) throws JsonProcessingException {
+        // JSON 不含换行，整段放在一行 data 中
+        String frame = "id: " + id + "\nevent: " + event + "\ndata: " + objectMapper.writeValueAsString(data) + "\n\n";
+        return frame.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 推送内容只包含列表展示需要的字段
+     */
+    private static Article summary(Article article) {
+        Article item = new Article(article);
+        item.setContent(null);
+        if (article.getAuthor() != null) {
+            User author = new User();
+            author.setId(article.getAuthor().getId());
+            author.setUsername(article.getAuthor().getUsername());
+            author.setAvatar(article.getAuthor().getAvatar());
+            item.setAuthor(author);
+        }
+        return item;
+    }
+
+    private void drop(Client client) {
+        if (clients.containsKey(client)) {
+            dropped.increment();
+            log.debug("断开推送慢消费者");
+        }
+        client.close();
+    }
+
+    private void remove(Client client) {
+        if (clients.remove(client) != null) {
+            clientCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * 一个订阅者，帧先进入有界队列，由发送线程按顺序写出
+     */
+    private class Client {
+
+        private final ResponseBodyEmitter emitter;
+        private final ArrayDeque<byte[]> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // 当前一次写出的开始时间，空闲时为0
+        private volatile long sendStartedNanos;
+        // 写出超过期限、已为它增加了顶替线程
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        Client(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void enqueue(byte[] frame) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() < clientBufferSize) {
+                    queue.add(frame);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                } else {
+                    frame = null;
+                }
+            }
+            if (frame == null) {
+                drop(this);
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RuntimeException e) {
+                // 应用关闭中
+                close();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                byte[] frame;
+                synchronized (this) {
+                    frame = closed ? null : queue.poll();
+                    if (frame == null) {
+                        draining = false;
+                        break;
+                    }
+                }
+                sendStartedNanos = System.nanoTime();
+                try {
+                    emitter.send(frame, MediaType.APPLICATION_OCTET_STREAM);
+                } catch (IOException | IllegalStateException e) {
+                    // 连接已断开或已结束
+                    close();
+                } finally {
+                    sendStartedNanos = 0;
+                    if (stalled.getAndSet(false)) {
+                        removeSendThread();
+                    }
+                }
+            }
+            boolean complete;
+            synchronized (this) {
+                complete = closed;
+            }
+            if (complete) {
+                complete();
+            }
+        }
+
+        /**
+         * 停止推送；正在写出时由发送线程在写出结束后结束响应，避免阻塞在 emitter 的锁上
+         */
+        void close() {
+            remove(this);
+            boolean sending;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+                sending = draining;
+            }
+            if (!sending) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // 已结束
+            }
+        }
+    }
+
+    /**
+     * 推送统计
+     */
+    public static class Stats {
+
+        private int clients;
+        private int maxClients;
+        private long published;   // 推送的文章事件数
+        private long dropped;     // 因积压或写出过慢被断开的订阅者数
+        private long stalledSends;   // 超过期限被断开的写出数
+        private int stalledThreads;  // 当前卡在写出中的发送线程数
+
+        public int getClients() {
+            return clients;
+        }
+
+        public int getMaxClients() {
+            return maxClients;
+        }
+
+        public long getPublished() {
+            return published;
+        }
+
+        public long getDropped() {
+            return dropped;
+        }
+
+        public long getStalledSends() {
+            return stalledSends;
+        }
+
+        public int getStalledThreads() {
+            return stalledThreads;
+        }
+    }
+}
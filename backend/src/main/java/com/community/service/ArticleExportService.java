@@ -0,0 +1,91 @@
+package com.community.service;
+
+import com.community.entity.Article;
+import com.community.mapper.ArticleMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+
+/**
+ * 文章导出服务
+ *
+ * 通过 MyBatis Cursor 逐行读取并以 NDJSON（每行一个JSON对象）写出，
+ * 内存占用与表大小无关。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class ArticleExportService {
+
+    // 每写出多少行刷新一次输出流
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 构造函数
+    public ArticleExportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 按条件导出文章
+     *
+     * @param status 状态，为null时不限
+     * @param authorId 作者ID，为null时不限
+     * @param createdFrom 创建时间下限（包含），为null时不限
+     * @param createdTo 创建时间上限（不包含），为null时不限
+     * @param out 输出流，由调用方关闭
+     * @return 导出的行数
+     */
+    public long export(String status, Long authorId, LocalDateTime createdFrom, LocalDateTime createdTo,
+                       OutputStream out) throws IOException {
+        try {
+            // 由批量刷新控制输出，避免每行都刷新到客户端
+            ObjectWriter writer = objectMapper.writerFor(Article.class)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            // Cursor 依赖 SqlSession，需要在事务内遍历，事务结束时关闭
+            Long rows = transactionTemplate.execute(tx -> {
+                try (Cursor<Article> cursor = articleMapper.exportArticles(status, authorId, createdFrom, createdTo);
+                     JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    // 默认在相邻的根值之间写入空格，每行只由换行分隔
+                    generator.setRootValueSeparator(null);
+                    long count = 0;
+                    for (Article article : cursor) {
+                        writer.writeValue(generator, article);
+                        generator.writeRaw('\n');
+                        if (++count % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                    generator.flush();
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return rows == null ? 0 : rows;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.community.service;
+
+import com.community.dto.ApiResponse;
+import com.community.entity.Article;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesProcessedEvent;
+import com.community.event.UserUpdatedEvent;
+import com.community.utils.LocalCache;
+import com.community.utils.PatchableJson;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 文章详情响应的字节缓存
+ *
+ * 缓存 ApiResponse&lt;Article&gt; 序列化后的UTF-8字节（可选同时缓存gzip格式），直接写入响应输出流，
+ * 热门文章不再每次都由Jackson重新序列化正文。浏览次数在序列化时用占位值代替，输出时再填入当前值，
+ * 因此浏览次数变化不会使缓存失效。
+ *
+ * 缓存项记录了生成时文章的版本号和 updated_at，与当前文章不一致时重新生成；
+ * 文章修改、删除以及作者资料更新时主动移除。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+public class ArticlePayloadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticlePayloadCache.class);
+
+    private static final String VIEW_COUNT_FIELD = "viewCount";
+    // 浏览次数不会是负数，用作占位值不会与真实值混淆
+    private static final long VIEW_COUNT_PLACEHOLDER = Integer.MIN_VALUE;
+
+    private static final MediaType JSON_UTF8 = new MediaType(MediaType.APPLICATION_JSON, StandardCharsets.UTF_8);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${community.cache.article-payload.enabled:true}")
+    private boolean enabled;
+
+    @Value("${community.cache.article-payload.max-size:500}")
+    private int maxSize;
+
+    @Value("${community.cache.article-payload.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    // 同时缓存gzip格式，客户端支持时直接输出（默认关闭，前面有负责压缩的反向代理时不需要）
+    @Value("${community.cache.article-payload.gzip:false}")
+    private boolean gzip;
+
+    // 小于该字节数的响应不压缩
+    @Value("${community.cache.article-payload.gzip-min-bytes:2048}")
+    private int gzipMinBytes;
+
+    // 文章ID -> 序列化结果
+    private LocalCache<Long, Entry> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = new LocalCache<>("article-payload", maxSize, ttlSeconds);
+    }
+
+    /**
+     * 把文章详情的成功响应写入输出流
+     *
+     * @param article 文章（浏览次数为当前值）
+     * @return 是否已写出；未启用或无法生成缓存时返回false，由调用方按普通方式返回
+     */
+    public boolean write(Article article, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!enabled || article.getViewCount() == null) {
+            return false;
+        }
+        Entry entry = cache.get(article.getId());
+        if (entry == null || !entry.matches(article)) {
+            entry = build(article);
+            if (entry == null) {
+                return false;
+            }
+            cache.put(article.getId(), entry);
+        }
+
+        long viewCount = article.getViewCount();
+        response.setContentType(JSON_UTF8.toString());
+        OutputStream out = response.getOutputStream();
+        if (entry.json.hasGzip()) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request)) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                response.setContentLength(entry.json.gzipLength(viewCount));
+                entry.json.writeGzipTo(out, viewCount);
+                return true;
+            }
+        }
+        response.setContentLength(entry.json.length(viewCount));
+        entry.json.writeTo(out, viewCount);
+        return true;
+    }
+
+    /**
+     * 获取缓存统计信息
+     *
+     * @return 缓存统计
+     */
+    public LocalCache.Stats getStats() {
+        return cache.stats();
+    }
+
+    /**
+     * 文章新增、修改或删除后移除
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        cache.invalidate(event.getArticleId());
+    }
+
+    /**
+     * 派生字段写回时版本号不变，移除对应的文章
+     */
+    @EventListener
+    public void onArticlesProcessed(ArticlesProcessedEvent event) {
+        event.getFields().forEach(f -> cache.invalidate(f.getArticleId()));
+    }
+
+    /**
+     * 响应中带有作者信息，作者资料更新后移除该作者的文章
+     */
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        cache.invalidateIf((id, entry) -> event.getUserId().equals(entry.authorId));
+    }
+
+    private Entry build(Article article) {
+        Article copy = new Article(article);
+        copy.setViewCount((int) VIEW_COUNT_PLACEHOLDER);
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(ApiResponse.success(copy));
+        } catch (JsonProcessingException e) {
+            log.warn("文章 {} 序列化失败", article.getId(), e);
+            return null;
+        }
+        PatchableJson json = PatchableJson.split(bytes, VIEW_COUNT_FIELD, VIEW_COUNT_PLACEHOLDER,
+                gzip && bytes.length >= gzipMinBytes);
+        return json == null ? null : new Entry(article, json);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * 缓存项，记录生成时的文章版本
+     */
+    private static class Entry {
+
+        private final Integer version;
+        private final LocalDateTime updatedAt;
+        private final Integer wordCount;  // 派生字段写回时版本号不变，用字数区分写回前后
+        private final Long authorId;
+        private final PatchableJson json;
+
+        Entry(Article article, PatchableJson json) {
+            this.version = article.getVersion();
+            this.updatedAt = article.getUpdatedAt();
+            this.wordCount = article.getWordCount();
+            this.authorId = article.getAuthorId();
+            this.json = json;
+        }
+
+        boolean matches(Article article) {
+            return Objects.equals(version, article.getVersion()) && Objects.equals(updatedAt, article.getUpdatedAt())
+                    && Objects.equals(wordCount, article.getWordCount());
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.community.service;
+
+import com.community.datasource.ReadWriteRouting;
+import com.community.entity.Article;
+import com.community.entity.ArticleDerivedFields;
+import com.community.event.ArticlesImportedEvent;
+import com.community.event.ArticlesProcessedEvent;
+import com.community.mapper.ArticleMapper;
+import com.community.search.SearchService;
+import com.community.utils.BatchingStage;
+import com.community.utils.ContentAnalyzer;
+import com.community.utils.SummaryUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 文章发布后的处理流水线
+ *
+ * 文章发布或修改的事务提交、变更事件处理完后，文章ID进入流水线，由三个批处理阶段依次处理，发布请求只负责写入文章：
+ * <ul>
+ *   <li>analyze：按ID批量读取文章和正文，提取纯文本，生成摘要、字数、阅读时间和封面图</li>
+ *   <li>persist：每批用一条 UPDATE 写回派生字段，版本号已变化的文章跳过（修改时已重新进入流水线）</li>
+ *   <li>index：用纯文本更新检索索引</li>
+ * </ul>
+ * 各阶段的队列有界。下游积压时上游阶段阻塞，积压传递到入口后，发布请求最多等待 offer-timeout-ms，
+ * 仍然写不进去时放弃，文章保持未处理状态（word_count 为NULL），由重放任务补上。
+ *
+ * 重放任务按主键顺序分批读取文章ID写入入口队列（队列满时等待），应用启动和批量导入后重放尚未处理的文章，
+ * 也可以通过管理接口重放全部文章。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class ArticleProcessingPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(ArticleProcessingPipeline.class);
+
+    // cover_image 列的长度
+    private static final int MAX_COVER_IMAGE_LENGTH = 500;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    // SearchService 依赖 ArticleService，ArticleService 又依赖流水线，使用时再获取
+    @Autowired
+    private ObjectProvider<SearchService> searchService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 每个阶段的队列容量
+    @Value("${community.article-pipeline.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${community.article-pipeline.batch-size:100}")
+    private int batchSize;
+
+    // 入口队列满时发布请求的最长等待时间
+    @Value("${community.article-pipeline.offer-timeout-ms:50}")
+    private long offerTimeoutMs;
+
+    // 重放时每次查询的文章ID数
+    @Value("${community.article-pipeline.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    private BatchingStage<Long> analyzeStage;
+    private BatchingStage<Processed> persistStage;
+    private BatchingStage<Processed> indexStage;
+
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private final LongAdder replayedRows = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        indexStage = new BatchingStage<>("article-index", queueCapacity, batchSize, this::index);
+        persistStage = new BatchingStage<>("article-persist", queueCapacity, batchSize, this::persist);
+        analyzeStage = new BatchingStage<>("article-analyze", queueCapacity, batchSize, this::analyze);
+        indexStage.start();
+        persistStage.start();
+        analyzeStage.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        analyzeStage.stop();
+        persistStage.stop();
+        indexStage.stop();
+    }
+
+    /**
+     * 文章新增或修改后进入流水线，需要在变更事件处理完后调用，保证写回的派生字段不会被缓存中较早的状态覆盖；
+     * 删除由各缓存和索引直接处理
+     *
+     * @param articleId 文章ID
+     */
+    public void submit(Long articleId) {
+        if (!analyzeStage.offer(articleId, offerTimeoutMs)) {
+            log.warn("文章处理队列已满，文章 {} 等待重放", articleId);
+        }
+    }
+
+    /**
+     * 应用启动后在后台重放尚未处理的文章（上次运行时被放弃或未处理完的文章）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        replay(false);
+    }
+
+    /**
+     * 批量导入的文章没有派生字段，导入后在后台重放
+     */
+    @EventListener
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        replay(false);
+    }
+
+    /**
+     * 在后台重放文章，同一时间只有一个重放在进行
+     *
+     * @param all 为true时重放所有文章，否则只重放尚未处理的文章
+     * @return 是否已开始；已有重放在进行时返回false
+     */
+    public boolean replay(boolean all) {
+        if (!replaying.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> runReplay(all), "article-pipeline-replay");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 各阶段和重放的统计
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        stats.stages = List.of(analyzeStage.stats(), persistStage.stats(), indexStage.stats());
+        stats.replaying = replaying.get();
+        stats.replayedRows = replayedRows.sum();
+        return stats;
+    }
+
+    private void runReplay(boolean all) {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try {
+            long lastId = 0;
+            while (true) {
+                List<Long> ids = findIdsForProcessing(lastId, all);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Long id : ids) {
+                    // 入口队列满时等待，重放的速度由流水线的处理速度决定
+                    analyzeStage.put(id);
+                }
+                lastId = ids.get(ids.size() - 1);
+                count += ids.size();
+                replayedRows.add(ids.size());
+            }
+            log.info("文章重放完成：{} 篇，耗时 {} ms", count, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("文章重放失败，已重放 {} 篇", count, e);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private List<Long> findIdsForProcessing(long afterId, boolean all) {
+        // 从库上刚写入的文章可能还没有同步，会被跳过
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            return articleMapper.findIdsForProcessing(afterId, replayBatchSize, all);
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+        }
+    }
+    
+    /**
+     * analyze 阶段：批量读取文章，计算派生字段
+     */
+    private void analyze(List<Long> batch) throws InterruptedException {
+        // 同一篇文章在一批中多次出现时只处理一次
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(batch));
+        Map<Long, Article> articles = new HashMap<>();
+        // 刚发布或修改的文章在从库上可能还不存在或是旧版本，会被当成已删除或在写回时跳过，必须读主库
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            for (Article article : articleMapper.findWithContentByIds(ids)) {
+                articles.put(article.getId(), article);
+            }
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+        }
+        for (Long id : ids) {
+            Article article = articles.get(id);
+            if (article == null) {
+                // 已删除，只需要从索引中移除
+                indexStage.put(new Processed(id, null, null, null));
+                continue;
+            }
+            String content = article.getContent();
+            ContentAnalyzer.Result result = ContentAnalyzer.analyze(content == null ? "" : content);
+            ArticleDerivedFields fields = new ArticleDerivedFields();
+            fields.setArticleId(id);
+            fields.setVersion(article.getVersion());
+            fields.setSummary(SummaryUtil.generate(result.getPlainText()));
+            fields.setWordCount(result.getWordCount());
+            fields.setReadingMinutes(result.getReadingMinutes());
+            String image = result.getFirstImage();
+            fields.setCoverImage(image != null && image.length() <= MAX_COVER_IMAGE_LENGTH ? image : null);
+            persistStage.put(new Processed(id, article, fields, result.getPlainText()));
+        }
+    }
+
+    /**
+     * persist 阶段：一条 UPDATE 写回一批派生字段
+     */
+    private void persist(List<Processed> batch) throws InterruptedException {
+        List<ArticleDerivedFields> fields = new ArrayList<>(batch.size());
+        for (Processed processed : batch) {
+            fields.add(processed.fields);
+        }
+        // 写回和事件监听器中的读取都使用主库
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            articleMapper.updateDerivedFields(fields);
+            eventPublisher.publishEvent(new ArticlesProcessedEvent(fields));
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+        }
+        for (Processed processed : batch) {
+            indexStage.put(processed);
+        }
+    }
+
+    /**
+     * index 阶段：更新检索索引
+     */
+    private void index(List<Processed> batch) {
+        for (Processed processed : batch) {
+            Article article = processed.article;
+            String summary = null;
+            if (article != null) {
+                summary = article.getSummary() != null ? article.getSummary() : processed.fields.getSummary();
+            }
+            searchService.getObject().index(processed.articleId, article, summary, processed.plainText);
+        }
+    }
+
+    /**
+     * 在阶段之间传递的处理结果
+     */
+    private static class Processed {
+
+        private final Long articleId;
+        private final Article article;              // 已删除时为null
+        private final ArticleDerivedFields fields;
+        private final String plainText;
+
+        Processed(Long articleId, Article article, ArticleDerivedFields fields, String plainText) {
+            this.articleId = articleId;
+            this.article = article;
+            this.fields = fields;
+            this.plainText = plainText;
+        }
+    }
+
+    /**
+     * 流水线统计
+     */
+    public static class Stats {
+
+        private List<BatchingStage.Stats> stages;
+        private boolean replaying;
+        private long replayedRows;   // 本进程重放写入流水线的文章数
+
+        public List<BatchingStage.Stats> getStages() {
+            return stages;
+        }
+
+        public boolean isReplaying() {
+            return replaying;
+        }
+
+        public long getReplayedRows() {
+            return replayedRows;
+        }
+    }
+}
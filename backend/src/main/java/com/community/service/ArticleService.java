@@ -1,11 +1,35 @@
 package com.community.service;
 
+import com.community.dto.ArticleListFields;
+import com.community.dto.ArticleListItem;
+import com.community.dto.CursorPage;
 import com.community.entity.Article;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesProcessedEvent;
+import com.community.event.UserUpdatedEvent;
+import com.community.event.ViewCountsFlushedEvent;
+import com.community.exception.VersionConflictException;
 import com.community.mapper.ArticleMapper;
+import com.community.utils.CursorUtil;
+import com.community.utils.EtagUtil;
+import com.community.utils.LocalCache;
+import com.community.utils.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * 文章服务类
@@ -19,6 +43,65 @@ public class ArticleService {
     @Autowired
     private ArticleMapper articleMapper;
     
+    @Autowired
+    private ViewCountAggregator viewCountAggregator;
+    
+    @Autowired
+    private FeedService feedService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private ArticleContentService articleContentService;
+    
+    @Autowired
+    private ArticleProcessingPipeline articleProcessingPipeline;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    // 不分页接口的最大返回条数（兼容旧客户端）
+    @Value("${community.article.legacy-list-max-size:500}")
+    private int legacyListMaxSize;
+    
+    // 游标分页的单页最大条数
+    @Value("${community.article.page-max-size:100}")
+    private int pageMaxSize;
+    
+    // 批量查询一次最多的文章数
+    @Value("${community.batch.max-size:100}")
+    private int batchMaxSize;
+    
+    @Value("${community.cache.article.max-size:10000}")
+    private int articleCacheMaxSize;
+    
+    @Value("${community.cache.article.ttl-seconds:300}")
+    private long articleCacheTtlSeconds;
+    
+    // 等待其他请求加载同一篇文章的最长时间
+    @Value("${community.single-flight.timeout-ms:3000}")
+    private long singleFlightTimeoutMs;
+    
+    // 文章详情缓存（文章ID -> 文章），缓存的是数据库中的状态，不含未写回的浏览次数
+    private LocalCache<Long, Article> articleCache;
+    
+    // 缓存未命中时合并同一篇文章的并发查询，热门文章缓存失效时只查询一次数据库
+    private SingleFlight<Long, Article> articleLoads;
+    
+    // 文章元数据和正文分两张表，写入在同一事务中完成
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    public void init() {
+        articleCache = new LocalCache<>("article", articleCacheMaxSize, articleCacheTtlSeconds);
+        articleLoads = new SingleFlight<>("article", singleFlightTimeoutMs);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
     /**
      * 发布文章
      * 
@@ -26,16 +109,13 @@ public class ArticleService {
      * @return 发布结果
      */
     public Article publishArticle(Article article) {
-        // 如果没有设置摘要，自动生成
-        if (article.getSummary() == null || article.getSummary().trim().isEmpty()) {
-            String content = article.getContent();
-            if (content.length() > 100) {
-                article.setSummary(content.substring(0, 100) + "...");
-            } else {
-                article.setSummary(content);
-            }
+        if (article.getContent() == null) {
+            throw new RuntimeException("文章内容不能为空");
         }
         
+        // 没有设置摘要时由 ArticleProcessingPipeline 在发布后生成
+        article.setSummary(normalizeSummary(article.getSummary()));
+        
         // 设置默认状态和浏览次数
         if (article.getStatus() == null) {
             article.setStatus("DRAFT");
@@ -44,10 +124,20 @@ public class ArticleService {
             article.setViewCount(0);
         }
         
-        // 保存文章
-        int result = articleMapper.insert(article);
+        // 保存文章和正文
+        int result = transactionTemplate.execute(tx -> {
+            int rows = articleMapper.insert(article);
+            if (rows > 0) {
+                articleContentService.save(article.getId(), article.getContent());
+            }
+            return rows;
+        });
         if (result > 0) {
-            return articleMapper.findById(article.getId());
+            Article published = loadIntoCache(article.getId());
+            eventPublisher.publishEvent(new ArticleChangedEvent(ArticleChangedEvent.Type.CREATED, null, published));
+            // 摘要等派生字段在请求之外生成
+            articleProcessingPipeline.submit(article.getId());
+            return published;
         } else {
             throw new RuntimeException("发布文章失败");
         }
@@ -56,26 +146,83 @@ public class ArticleService {
     /**
      * 更新文章
      * 
-     * @param article 文章信息
-     * @return 更新结果
+     * 权限检查、版本检查和写入由一条 UPDATE 完成，成功后用缓存中的文章合并本次修改的字段作为结果，
+     * 不再重新查询。请求未携带版本号（旧客户端）或缓存中的版本与请求不一致时才从数据库重新读取。
+     * 
+     * @param article 文章信息，id 和 authorId 必填，version 为客户端读取时的版本号
+     * @return 更新后的文章
+     * @throws VersionConflictException 文章已被其他请求修改，异常中携带最新的文章
      */
     public Article updateArticle(Article article) {
-        // 如果没有设置摘要，自动生成
-        if (article.getSummary() == null || article.getSummary().trim().isEmpty()) {
-            String content = article.getContent();
-            if (content.length() > 100) {
-                article.setSummary(content.substring(0, 100) + "...");
-            } else {
-                article.setSummary(content);
+        // 修改正文但没有设置摘要时，摘要由 ArticleProcessingPipeline 重新生成
+        article.setSummary(normalizeSummary(article.getSummary()));
+        
+        Long id = article.getId();
+        Article base = articleCache.get(id);
+        if (base == null) {
+            // 缓存未命中时读取一次修改前的状态，变更事件需要据此判断发布状态的变化
+            base = articleMapper.findById(id);
+        }
+        article.setUpdatedAt(LocalDateTime.now().withNano(0));
+        boolean written = transactionTemplate.execute(tx -> {
+            if (articleMapper.updateVersioned(article) == 0) {
+                return false;
             }
+            if (article.getContent() != null) {
+                articleContentService.save(id, article.getContent());
+            }
+            return true;
+        });
+        // 之后的请求不再等待修改前开始的查询；那次查询的结果因写入代数变化不会写入缓存
+        articleLoads.forget(id);
+        if (!written) {
+            // 只有失败时才需要区分原因
+            Article current = articleMapper.findById(id);
+            if (current == null) {
+                articleCache.invalidate(id);
+                throw new RuntimeException("文章不存在");
+            }
+            articleCache.put(id, current);
+            if (!current.getAuthorId().equals(article.getAuthorId())) {
+                throw new RuntimeException("无权限修改该文章");
+            }
+            if (article.getVersion() == null) {
+                throw new RuntimeException("更新文章失败");
+            }
+            throw new VersionConflictException("文章已被修改，请基于最新内容重新编辑", new Article(current));
         }
         
-        int result = articleMapper.update(article);
-        if (result > 0) {
-            return articleMapper.findById(article.getId());
+        Article updated;
+        if (base != null && article.getVersion() != null && article.getVersion().equals(base.getVersion())) {
+            Article merged = new Article(base);
+            if (article.getTitle() != null) {
+                merged.setTitle(article.getTitle());
+            }
+            if (article.getContent() != null) {
+                // 与 updateVersioned 一致：派生字段清空，等待重新计算
+                merged.setContent(article.getContent());
+                merged.setSummary(null);
+                merged.setWordCount(null);
+                merged.setReadingMinutes(null);
+                merged.setCoverImage(null);
+            }
+            if (article.getSummary() != null) {
+                merged.setSummary(article.getSummary());
+            }
+            if (article.getStatus() != null) {
+                merged.setStatus(article.getStatus());
+            }
+            merged.setVersion(base.getVersion() + 1);
+            merged.setUpdatedAt(article.getUpdatedAt());
+            articleCache.put(id, merged);
+            updated = new Article(merged);
         } else {
-            throw new RuntimeException("更新文章失败");
+            updated = loadIntoCache(id);
         }
+        eventPublisher.publishEvent(new ArticleChangedEvent(ArticleChangedEvent.Type.UPDATED,
+                base == null ? null : new Article(base), updated));
+        articleProcessingPipeline.submit(id);
+        return updated;
     }
     
     /**
@@ -85,26 +232,155 @@ public class ArticleService {
      * @return 文章信息
      */
     public Article findById(Long id) {
-        return articleMapper.findById(id);
+        Article cached = articleCache.get(id);
+        if (cached == null) {
+            cached = articleLoads.load(id, () -> {
+                // 查询期间文章被修改时不写入缓存，避免旧数据覆盖修改后缓存的文章
+                long generation = articleCache.generation(id);
+                Article article = articleMapper.findById(id);
+                if (article != null) {
+                    articleCache.putIfUnchanged(id, article, generation);
+                }
+                return article;
+            });
+            if (cached == null) {
+                return null;
+            }
+        }
+        
+        return copyOf(cached);
     }
     
     /**
-     * 查询所有已发布的文章
+     * 根据ID批量查询文章，先查缓存，未命中的ID合并为一次 IN 查询
      * 
+     * @param ids 文章ID列表，可以重复
+     * @return 与ID顺序相同的文章列表，不存在的文章为null
+     * @throws IllegalArgumentException ID数量超过上限
+     */
+    public List<Article> findByIds(List<Long> ids) {
+        if (ids.size() > batchMaxSize) {
+            throw new IllegalArgumentException("一次最多查询 " + batchMaxSize + " 篇文章");
+        }
+        Map<Long, Article> found = new HashMap<>();
+        Map<Long, Long> generations = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || found.containsKey(id)) {
+                continue;
+            }
+            Article cached = articleCache.get(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (missing.add(id)) {
+                generations.put(id, articleCache.generation(id));
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Article article : articleMapper.findByIds(missing)) {
+                articleCache.putIfUnchanged(article.getId(), article, generations.get(article.getId()));
+                found.put(article.getId(), article);
+            }
+        }
+        
+        List<Article> articles = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Article cached = id == null ? null : found.get(id);
+            articles.add(cached == null ? null : copyOf(cached));
+        }
+        return articles;
+    }
+    
+    /**
+     * 查询已发布的文章（最多返回 legacyListMaxSize 条），优先使用首页快照
+     * 
+     * 返回的列表项至少包含选择的字段，由调用方按 {@link ArticleListFields#project} 裁剪。
+     * 
+     * @param fields 字段选择，从数据库查询时只查询需要的列
      * @return 文章列表
      */
-    public List<Article> findPublishedArticles() {
-        return articleMapper.findPublishedArticles();
+    public List<ArticleListItem> findPublishedArticles(ArticleListFields fields) {
+        List<ArticleListItem> articles = feedService.getLatest(legacyListMaxSize);
+        if (articles != null) {
+            return articles;
+        }
+        return attachAuthors(articleMapper.findPublishedArticles(fields.getColumns(), legacyListMaxSize), fields);
     }
     
     /**
-     * 根据作者ID查询文章
+     * 已发布文章列表的ETag，首页快照可以满足请求时直接由快照版本生成，无需查询数据库
+     * 
+     * @param after 游标，不分页时为null
+     * @param limit 每页条数，不分页时为null
+     * @param fields 字段选择
+     * @return ETag，无法由快照确定时返回null
+     */
+    public String getPublishedArticlesEtag(String after, Integer limit, ArticleListFields fields) {
+        String versionTag = feedService.getVersionTag();
+        if (versionTag == null) {
+            return null;
+        }
+        if (limit == null) {
+            if (feedService.getLatest(legacyListMaxSize) == null) {
+                return null;
+            }
+        } else {
+            int pageSize = Math.max(1, Math.min(limit, pageMaxSize));
+            CursorUtil.Position position = (after == null || after.isEmpty()) ? null : CursorUtil.decode(after);
+            if (feedService.getPage(position, pageSize) == null) {
+                return null;
+            }
+        }
+        return EtagUtil.collection(versionTag, after + ":" + limit + ":" + fields.getKey());
+    }
+    
+    /**
+     * 游标分页查询已发布的文章
+     * 
+     * @param after 上一页返回的游标，为空时查询第一页
+     * @param limit 每页条数
+     * @param fields 字段选择，从数据库查询时只查询需要的列
+     * @return 分页结果
+     */
+    public CursorPage<ArticleListItem> findPublishedArticlesPage(String after, int limit, ArticleListFields fields) {
+        int pageSize = Math.max(1, Math.min(limit, pageMaxSize));
+        CursorUtil.Position position = (after == null || after.isEmpty()) ? null : CursorUtil.decode(after);
+        
+        // 首页快照范围内的分页直接从内存返回
+        CursorPage<ArticleListItem> page = feedService.getPage(position, pageSize);
+        if (page != null) {
+            return page;
+        }
+        
+        // 多查一条用于判断是否还有下一页
+        List<ArticleListItem> articles = articleMapper.findPublishedArticlesAfter(
+                fields.getColumns(),
+                position == null ? null : position.getCreatedAt(),
+                position == null ? null : position.getId(),
+                pageSize + 1);
+        
+        boolean hasMore = articles.size() > pageSize;
+        if (hasMore) {
+            articles = articles.subList(0, pageSize);
+        }
+        attachAuthors(articles, fields);
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleListItem last = articles.get(articles.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(articles, nextCursor, hasMore);
+    }
+    
+    /**
+     * 根据作者ID查询文章（不含正文）
      * 
      * @param authorId 作者ID
+     * @param fields 字段选择，只查询需要的列
      * @return 文章列表
      */
-    public List<Article> findByAuthorId(Long authorId) {
-        return articleMapper.findByAuthorId(authorId);
+    public List<ArticleListItem> findByAuthorId(Long authorId, ArticleListFields fields) {
+        return attachAuthors(articleMapper.findByAuthorId(fields.getColumns(), authorId), fields);
     }
     
     /**
@@ -116,7 +392,7 @@ public class ArticleService {
      */
     public boolean deleteArticle(Long id, Long authorId) {
         // 检查文章是否存在且属于该作者
-        Article article = articleMapper.findById(id);
+        Article article = findById(id);
         if (article == null) {
             throw new RuntimeException("文章不存在");
         }
@@ -124,15 +400,110 @@ public class ArticleService {
             throw new RuntimeException("无权限删除该文章");
         }
         
-        return articleMapper.deleteById(id) > 0;
+        boolean deleted = articleMapper.deleteById(id) > 0;
+        articleLoads.forget(id);
+        articleCache.invalidate(id);
+        if (deleted) {
+            eventPublisher.publishEvent(new ArticleChangedEvent(ArticleChangedEvent.Type.DELETED, article, null));
+        }
+        return deleted;
     }
     
     /**
-     * 增加文章浏览次数
+     * 增加文章浏览次数（先在内存中累计，定时批量写回）
      * 
      * @param id 文章ID
      */
     public void incrementViewCount(Long id) {
-        articleMapper.incrementViewCount(id);
+        viewCountAggregator.increment(id);
+    }
+    
+    /**
+     * 获取文章缓存统计信息
+     * 
+     * @return 缓存统计
+     */
+    public LocalCache.Stats getCacheStats() {
+        return articleCache.stats();
+    }
+    
+    /**
+     * 获取文章查询合并的统计信息
+     * 
+     * @return 合并统计
+     */
+    public SingleFlight.Stats getLoadStats() {
+        return articleLoads.stats();
+    }
+    
+    /**
+     * 作者资料更新后，移除缓存中该作者的文章（文章中带有作者信息）
+     */
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        articleCache.invalidateIf((id, article) -> event.getUserId().equals(article.getAuthorId()));
+    }
+    
+    /**
+     * 派生字段写回后，移除缓存中对应的文章
+     */
+    @EventListener
+    public void onArticlesProcessed(ArticlesProcessedEvent event) {
+        event.getFields().forEach(f -> articleCache.invalidate(f.getArticleId()));
+    }
+    
+    /**
+     * 浏览次数写回后，把增量加到缓存中的文章上，热门文章不必因此重新查询；
+     * 聚合器在本方法返回后才从未写回的计数中扣除这些增量
+     */
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        event.getDeltas().forEach((id, delta) -> articleCache.update(id, cached -> {
+            if (cached.getViewCount() == null) {
+                return cached;
+            }
+            // 缓存中的对象可能正被读取，替换为副本
+            Article article = new Article(cached);
+            article.setViewCount((int) (cached.getViewCount() + delta));
+            return article;
+        }));
+    }
+    
+    /**
+     * 选择了作者字段时填充作者信息
+     */
+    private List<ArticleListItem> attachAuthors(List<ArticleListItem> articles, ArticleListFields fields) {
+        return fields.includes("author") ? userService.attachAuthors(articles) : articles;
+    }
+    
+    /**
+     * 缓存中文章的副本，避免调用方修改缓存中的对象；叠加尚未写回数据库的浏览次数
+     */
+    private Article copyOf(Article cached) {
+        Article article = new Article(cached);
+        if (article.getViewCount() != null) {
+            article.setViewCount((int) (article.getViewCount() + viewCountAggregator.getPending(article.getId())));
+        }
+        return article;
+    }
+    
+    /**
+     * 空白的摘要视为未设置
+     */
+    private static String normalizeSummary(String summary) {
+        return summary == null || summary.trim().isEmpty() ? null : summary;
+    }
+    
+    /**
+     * 从数据库重新读取文章并刷新缓存
+     */
+    private Article loadIntoCache(Long id) {
+        Article article = articleMapper.findById(id);
+        if (article == null) {
+            articleCache.invalidate(id);
+            return null;
+        }
+        articleCache.put(id, article);
+        return new Article(article);
     }
 }
@@ -0,0 +1,198 @@
+package com.community.service;
+
+import com.community.datasource.ReadWriteRouting;
+import com.community.entity.Article;
+import com.community.entity.AuthorStats;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesImportedEvent;
+import com.community.event.ViewCountsFlushedEvent;
+import com.community.mapper.ArticleMapper;
+import com.community.mapper.AuthorStatsMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 作者统计服务
+ *
+ * author_stats 表中的文章数、已发布数和总浏览次数由文章变更事件和浏览次数写回事件增量维护，
+ * 查询时只按主键读取一行，不扫描 articles 表。增量维护失败或多实例部署下可能出现的偏差，
+ * 由定时校对任务按作者ID分批从 articles 表重新计算修正。
+ *
+ * 总浏览次数只包含已写回数据库的部分，与文章的 view_count 列一致。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class AuthorStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthorStatsService.class);
+
+    @Autowired
+    private AuthorStatsMapper authorStatsMapper;
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private ViewCountAggregator viewCountAggregator;
+
+    // 校对时每批包含的作者ID范围
+    @Value("${community.author-stats.reconcile-batch-size:1000}")
+    private int reconcileBatchSize;
+
+    // 浏览次数写回后按文章ID查作者时，每条 IN 查询包含的文章数
+    @Value("${community.view-count.flush-batch-size:500}")
+    private int lookupBatchSize;
+
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+
+    /**
+     * 查询作者统计
+     *
+     * @param userId 作者ID
+     * @return 统计信息，没有记录时各项为0
+     */
+    public AuthorStats getStats(Long userId) {
+        AuthorStats stats = authorStatsMapper.findByUserId(userId);
+        return stats != null ? stats : AuthorStats.empty(userId);
+    }
+
+    /**
+     * 发布、修改状态、删除文章后更新计数
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        Article previous = event.getPrevious();
+        Article current = event.getCurrent();
+        int articleDelta = 0;
+        long viewDelta = 0;
+        switch (event.getType()) {
+            case CREATED:
+                articleDelta = 1;
+                break;
+            case DELETED:
+                articleDelta = -1;
+                // 删除前读到的浏览次数叠加了未写回的增量，这部分不会再写回数据库，也不计入统计
+                viewDelta = -(valueOf(previous.getViewCount()) - viewCountAggregator.getPending(previous.getId()));
+                break;
+            default:
+                if (previous == null) {
+                    // 不知道修改前的状态，留给校对任务
+                    return;
+                }
+                break;
+        }
+        int publishedDelta = (event.isPublishedAfter() ? 1 : 0) - (event.isPublishedBefore() ? 1 : 0);
+        if (articleDelta == 0 && publishedDelta == 0 && viewDelta == 0) {
+            return;
+        }
+        Long authorId = current != null ? current.getAuthorId() : previous.getAuthorId();
+        try {
+            authorStatsMapper.applyDelta(authorId, articleDelta, publishedDelta, viewDelta);
+        } catch (RuntimeException e) {
+            // 统计是派生数据，失败不影响文章本身的写入
+            log.warn("作者统计更新失败，等待校对任务修正：作者 {}", authorId, e);
+        }
+    }
+
+    /**
+     * 浏览次数写回数据库后，按作者汇总增量
+     */
+    @EventListener
+    public void onViewCountsFlushed(ViewCountsFlushedEvent event) {
+        List<Long> articleIds = new ArrayList<>(event.getDeltas().keySet());
+        Map<Long, Long> authorDeltas = new HashMap<>();
+        // 刚发布的文章在从库上可能还不存在，它的浏览次数会被漏掉
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            for (int from = 0; from < articleIds.size(); from += lookupBatchSize) {
+                List<Long> chunk = articleIds.subList(from, Math.min(from + lookupBatchSize, articleIds.size()));
+                for (Article article : articleMapper.findAuthorIds(chunk)) {
+                    authorDeltas.merge(article.getAuthorId(), event.getDeltas().get(article.getId()), Long::sum);
+                }
+            }
+            if (!authorDeltas.isEmpty()) {
+                authorStatsMapper.addViews(authorDeltas);
+            }
+        } catch (RuntimeException e) {
+            log.warn("作者浏览次数统计更新失败，等待校对任务修正：{} 位作者", authorDeltas.size(), e);
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+        }
+    }
+
+    /**
+     * 批量导入的文章不逐条发布事件，导入后在后台校对一次
+     */
+    @EventListener
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        reconcileInBackground();
+    }
+
+    /**
+     * 应用启动后在后台校对一次
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcileInBackground();
+    }
+
+    /**
+     * 定时按作者ID分批从 articles 表重新计算统计
+     *
+     * 每批是一条 INSERT ... SELECT ... ON DUPLICATE KEY UPDATE，读取和写入在同一条语句中完成，
+     * 不会用旧的计算结果覆盖校对期间并发写入的增量；分批避免长时间锁住大范围的文章行。
+     */
+    @Scheduled(fixedDelayString = "${community.author-stats.reconcile-interval-ms:3600000}",
+               initialDelayString = "${community.author-stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        if (!reconciling.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        // 从库上的最大用户ID可能落后，最新用户的范围会被跳过
+        boolean previous = ReadWriteRouting.beginPrimary();
+        try {
+            long maxUserId = authorStatsMapper.findMaxUserId();
+            int batches = 0;
+            for (long from = 0; from <= maxUserId; from += reconcileBatchSize) {
+                long to = from + reconcileBatchSize;
+                authorStatsMapper.reconcileRange(from, to);
+                authorStatsMapper.clearRangeWithoutArticles(from, to);
+                batches++;
+            }
+            log.info("作者统计校对完成：{} 批，耗时 {} ms", batches, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("作者统计校对失败", e);
+        } finally {
+            ReadWriteRouting.endPrimary(previous);
+            reconciling.set(false);
+        }
+    }
+
+    private void reconcileInBackground() {
+        if (reconciling.get()) {
+            return;
+        }
+        Thread thread = new Thread(this::reconcile, "author-stats-reconcile");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static long valueOf(Integer value) {
+        return value == null ? 0 : value;
+    }
+}
@@ -0,0 +1,352 @@
+package com.community.service;
+
+import com.community.datasource.ReadWriteRouting;
+import com.community.dto.ArticleListFields;
+import com.community.dto.ArticleListItem;
+import com.community.dto.CursorPage;
+import com.community.entity.ArticleDerivedFields;
+import com.community.entity.User;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesImportedEvent;
+import com.community.event.ArticlesProcessedEvent;
+import com.community.event.UserUpdatedEvent;
+import com.community.mapper.ArticleMapper;
+import com.community.utils.CursorUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 首页文章流服务
+ * 
+ * 在内存中维护最新 snapshot-size 篇已发布文章的不可变快照（按 created_at、id 倒序），
+ * 快照中只保存列表项，不含正文。
+ * 文章发布、更新、删除时在新副本上增量修改后原子替换，读取方无需加锁；
+ * 定时全量刷新失败时继续使用上一份快照。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class FeedService {
+    
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+    
+    // 首页排序：创建时间倒序，相同时按ID倒序
+    private static final Comparator<ArticleListItem> FEED_ORDER = Comparator
+            .comparing(ArticleListItem::getCreatedAt, Comparator.reverseOrder())
+            .thenComparing(ArticleListItem::getId, Comparator.reverseOrder());
+    
+    @Autowired
+    private ArticleMapper articleMapper;
+    
+    @Autowired
+    private UserService userService;
+    
+    // 快照保留的文章数
+    @Value("${community.feed.snapshot-size:500}")
+    private int snapshotSize;
+    
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // 进程启动标识，和快照版本号一起区分不同节点、不同进程的快照
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Object updateLock = new Object();
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // 全量刷新期间发生的变更，刷新完成后重放到新快照上
+    private final List<ArticleChangedEvent> changesDuringRefresh = new ArrayList<>();
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "feed-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * 应用启动后构建首个快照
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+    
+    /**
+     * 从数据库全量重建快照，失败时保留上一份快照
+     */
+    @Scheduled(fixedDelayString = "${community.feed.refresh-interval-ms:300000}",
+               initialDelayString = "${community.feed.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<ArticleListItem> articles;
+            // 只重放刷新开始后的变更，刷新前刚发布的文章在从库上可能还不存在，因此读主库
+            boolean previous = ReadWriteRouting.beginPrimary();
+            try {
+                articles = userService.attachAuthors(
+                        articleMapper.findPublishedArticles(ArticleListFields.ALL.getColumns(), snapshotSize + 1));
+            } catch (RuntimeException e) {
+                log.warn("首页快照刷新失败，继续使用上一份快照", e);
+                return;
+            } finally {
+                ReadWriteRouting.endPrimary(previous);
+            }
+            
+            synchronized (updateLock) {
+                boolean complete = articles.size() <= snapshotSize;
+                List<ArticleListItem> list = new ArrayList<>(articles.subList(0, Math.min(articles.size(), snapshotSize)));
+                for (ArticleChangedEvent event : changesDuringRefresh) {
+                    complete &= apply(list, event);
+                }
+                swap(list, complete);
+            }
+        } finally {
+            synchronized (updateLock) {
+                changesDuringRefresh.clear();
+                refreshing.set(false);
+            }
+        }
+    }
+    
+    /**
+     * 文章变更时增量更新快照
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (!event.isPublishedBefore() && !event.isPublishedAfter()) {
+            return;  // 草稿的变更不影响首页
+        }
+        boolean needRefill = false;
+        synchronized (updateLock) {
+            if (refreshing.get()) {
+                changesDuringRefresh.add(event);
+            }
+            Snapshot current = snapshot.get();
+            if (current == null) {
+                return;
+            }
+            List<ArticleListItem> list = new ArrayList<>(current.articles);
+            boolean complete = apply(list, event) && current.complete;
+            // 快照不完整且数量变少时，需要从数据库补齐
+            needRefill = !complete && list.size() < snapshotSize;
+            swap(list, complete);
+        }
+        if (needRefill) {
+            refreshExecutor.execute(this::refresh);
+        }
+    }
+    
+    /**
+     * 派生字段写回后，替换快照中对应文章的派生字段（版本号已变化的文章会收到新的变更事件，不处理）
+     */
+    @EventListener
+    public void onArticlesProcessed(ArticlesProcessedEvent event) {
+        Map<Long, ArticleDerivedFields> fields = new HashMap<>();
+        for (ArticleDerivedFields f : event.getFields()) {
+            fields.put(f.getArticleId(), f);
+        }
+        synchronized (updateLock) {
+            Snapshot current = snapshot.get();
+            if (current == null || current.articles.stream().noneMatch(a -> fields.containsKey(a.getId()))) {
+                return;
+            }
+            List<ArticleListItem> list = new ArrayList<>(current.articles.size());
+            for (ArticleListItem article : current.articles) {
+                ArticleDerivedFields f = fields.get(article.getId());
+                if (f != null && f.getVersion().equals(article.getVersion())) {
+                    article = new ArticleListItem(article);
+                    if (article.getSummary() == null) {
+                        article.setSummary(f.getSummary());
+                    }
+                    article.setWordCount(f.getWordCount());
+                    article.setReadingMinutes(f.getReadingMinutes());
+                    article.setCoverImage(f.getCoverImage());
+                }
+                list.add(article);
+            }
+            swap(list, current.complete);
+        }
+    }
+    
+    /**
+     * 批量导入文章后在后台全量刷新
+     */
+    @EventListener
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        refreshExecutor.execute(this::refresh);
+    }
+    
+    /**
+     * 作者资料更新后，替换快照中该作者文章的作者信息
+     */
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        Long userId = event.getUserId();
+        synchronized (updateLock) {
+            Snapshot current = snapshot.get();
+            if (current == null || current.articles.stream().noneMatch(a -> userId.equals(a.getAuthorId()))) {
+                return;
+            }
+            User author = ArticleListItem.compactAuthor(userService.loadAuthors(Collections.singleton(userId)).get(userId));
+            List<ArticleListItem> list = new ArrayList<>(current.articles.size());
+            for (ArticleListItem article : current.articles) {
+                if (userId.equals(article.getAuthorId())) {
+                    article = new ArticleListItem(article);
+                    article.setAuthor(author);
+                }
+                list.add(article);
+            }
+            swap(list, current.complete);
+        }
+    }
+    
+    /**
+     * 获取最新的已发布文章
+     * 
+     * @param limit 最大条数
+     * @return 文章列表，快照无法满足时返回null
+     */
+    public List<ArticleListItem> getLatest(int limit) {
+        Snapshot current = snapshot.get();
+        if (current == null || (!current.complete && current.articles.size() < limit)) {
+            return null;
+        }
+        return current.articles.subList(0, Math.min(limit, current.articles.size()));
+    }
+    
+    /**
+     * 从快照中按游标分页
+     * 
+     * @param position 游标位置，为null时从第一页开始
+     * @param pageSize 每页条数
+     * @return 分页结果，快照无法满足时返回null
+     */
+    public CursorPage<ArticleListItem> getPage(CursorUtil.Position position, int pageSize) {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return null;
+        }
+        List<ArticleListItem> articles = current.articles;
+        int start = position == null ? 0 : indexAfter(articles, position);
+        // 需要多一条来判断是否还有下一页
+        if (!current.complete && start + pageSize + 1 > articles.size()) {
+            return null;
+        }
+        int end = Math.min(start + pageSize, articles.size());
+        List<ArticleListItem> items = articles.subList(start, end);
+        boolean hasMore = end < articles.size();
+        String nextCursor = null;
+        if (hasMore) {
+            ArticleListItem last = items.get(items.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+    
+    /**
+     * 当前快照版本号，每次替换快照时递增
+     * 
+     * @return 版本号，尚未构建快照时返回-1
+     */
+    public long getVersion() {
+        Snapshot current = snapshot.get();
+        return current == null ? -1 : current.version;
+    }
+    
+    /**
+     * 当前快照的全局唯一版本标识，用于生成列表ETag
+     * 
+     * @return 版本标识，尚未构建快照时返回null
+     */
+    public String getVersionTag() {
+        Snapshot current = snapshot.get();
+        return current == null ? null : epoch + "." + current.version;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+    
+    /**
+     * 把变更应用到列表上
+     * 
+     * @return 没有文章因超出容量被移出时返回true
+     */
+    private boolean apply(List<ArticleListItem> list, ArticleChangedEvent event) {
+        Long id = event.getArticleId();
+        list.removeIf(article -> article.getId().equals(id));
+        if (event.isPublishedAfter()) {
+            ArticleListItem article = ArticleListItem.of(event.getCurrent());
+            int index = Collections.binarySearch(list, article, FEED_ORDER);
+            list.add(index < 0 ? -index - 1 : index, article);
+            if (list.size() > snapshotSize) {
+                list.remove(list.size() - 1);
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void swap(List<ArticleListItem> list, boolean complete) {
+        Snapshot previous = snapshot.get();
+        long version = previous == null ? 0 : previous.version + 1;
+        snapshot.set(new Snapshot(Collections.unmodifiableList(list), complete, version));
+    }
+    
+    /**
+     * 找到第一个排在游标之后的位置
+     */
+    private int indexAfter(List<ArticleListItem> articles, CursorUtil.Position position) {
+        int low = 0;
+        int high = articles.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            ArticleListItem article = articles.get(mid);
+            int cmp = position.getCreatedAt().compareTo(article.getCreatedAt());
+            if (cmp == 0) {
+                cmp = position.getId().compareTo(article.getId());
+            }
+            // 倒序排列：当前元素大于等于游标时，不在游标之后
+            if (cmp <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * 不可变的首页快照
+     */
+    private static class Snapshot {
+        
+        private final List<ArticleListItem> articles;
+        private final boolean complete;  // 数据库中的已发布文章是否已全部包含在快照中
+        private final long version;
+        
+        Snapshot(List<ArticleListItem> articles, boolean complete, long version) {
+            this.articles = articles;
+            this.complete = complete;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.community.service;
+
+import com.community.dto.ImportResult;
+import com.community.entity.Article;
+import com.community.entity.User;
+import com.community.event.ArticlesImportedEvent;
+import com.community.mapper.ArticleMapper;
+import com.community.mapper.UserMapper;
+import com.community.utils.PasswordUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+import java.util.regex.Pattern;
+
+/**
+ * 批量导入服务
+ *
+ * 读取 NDJSON（每行一个JSON对象），逐行校验后按 chunk-size 分块多行插入。
+ * 每块写入成功后把已处理的行号记入检查点文件，失败后以相同的任务ID重新导入时
+ * 从检查点之后继续；全部完成后删除检查点。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class ImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    public static final String TYPE_USERS = "users";
+    public static final String TYPE_ARTICLES = "articles";
+
+    private static final Pattern JOB_ID_PATTERN = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[^@\\s]+@[^@\\s]+");
+
+    @Autowired
+    private ArticleMapper articleMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Autowired
+    private UserExistenceIndex userExistenceIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // 每条 INSERT 语句包含的行数
+    @Value("${community.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${community.import.checkpoint-dir:./data/import-checkpoints}")
+    private String checkpointDir;
+
+    // 结果中最多记录的错误条数
+    @Value("${community.import.max-errors:100}")
+    private int maxErrors;
+
+    /**
+     * 导入用户
+     *
+     * 每行字段：id（可选）、username、email、password（明文）或 passwordHash（已加密）、avatar、bio、createdAt
+     *
+     * @param in NDJSON输入流
+     * @param jobId 任务ID，用于断点续传
+     * @return 导入结果
+     */
+    public ImportResult importUsers(InputStream in, String jobId) throws IOException {
+        return importLines(TYPE_USERS, in, jobId, this::parseUser, users -> {
+            int inserted = userMapper.insertBatch(users);
+            users.forEach(user -> userExistenceIndex.add(user.getUsername(), user.getEmail()));
+            return inserted;
+        });
+    }
+
+    /**
+     * 导入文章，完成后通知首页快照和检索索引重建
+     *
+     * 每行字段与导出格式一致：id（可选）、title、content、summary、authorId、status、viewCount、createdAt
+     *
+     * @param in NDJSON输入流
+     * @param jobId 任务ID，用于断点续传
+     * @return 导入结果
+     */
+    public ImportResult importArticles(InputStream in, String jobId) throws IOException {
+        ImportResult result = importLines(TYPE_ARTICLES, in, jobId, this::parseArticle, articleMapper::insertBatch);
+        if (result.getInserted() > 0) {
+            eventPublisher.publishEvent(new ArticlesImportedEvent(result.getInserted()));
+        }
+        return result;
+    }
+
+    private <T> ImportResult importLines(String type, InputStream in, String jobId,
+                                         LineParser<T> parser, ToIntFunction<List<T>> inserter) throws IOException {
+        if (jobId == null || !JOB_ID_PATTERN.matcher(jobId).matches()) {
+            throw new IllegalArgumentException("任务ID只能包含字母、数字、下划线、点和短横线");
+        }
+        Path checkpoint = Paths.get(checkpointDir, type + "-" + jobId + ".checkpoint");
+        long resumeAfter = readCheckpoint(checkpoint);
+
+        ImportResult result = new ImportResult(type, jobId);
+        result.setResumedFromLine(resumeAfter);
+        long started = System.nanoTime();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber <= resumeAfter || line.trim().isEmpty()) {
+                continue;
+            }
+            result.setLinesRead(result.getLinesRead() + 1);
+            try {
+                chunk.add(parser.parse(objectMapper.readTree(line)));
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                result.setInvalid(result.getInvalid() + 1);
+                if (result.getErrors().size() < maxErrors) {
+                    String message = e instanceof JsonProcessingException ? "JSON格式错误" : e.getMessage();
+                    result.getErrors().add("第 " + lineNumber + " 行：" + message);
+                }
+            }
+            if (chunk.size() >= chunkSize) {
+                flush(chunk, inserter, result);
+                writeCheckpoint(checkpoint, lineNumber);
+                logProgress(result, started);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            flush(chunk, inserter, result);
+        }
+        Files.deleteIfExists(checkpoint);
+
+        long elapsedNanos = System.nanoTime() - started;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(rowsPerSecond(result.getInserted(), elapsedNanos));
+        log.info("导入{}完成：读取 {} 行，插入 {} 行，跳过 {} 行，无效 {} 行，{} 行/秒", type, result.getLinesRead(),
+                result.getInserted(), result.getSkipped(), result.getInvalid(), (long) result.getRowsPerSecond());
+        return result;
+    }
+
+    private <T> void flush(List<T> chunk, ToIntFunction<List<T>> inserter, ImportResult result) {
+        int inserted = inserter.applyAsInt(chunk);
+        result.setInserted(result.getInserted() + inserted);
+        result.setSkipped(result.getSkipped() + chunk.size() - inserted);
+        chunk.clear();
+    }
+
+    private void logProgress(ImportResult result, long started) {
+        log.info("导入{}：已插入 {} 行，{} 行/秒", result.getType(), result.getInserted(),
+                (long) rowsPerSecond(result.getInserted(), System.nanoTime() - started));
+    }
+
+    private static double rowsPerSecond(long rows, long elapsedNanos) {
+        return elapsedNanos <= 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private User parseUser(JsonNode node) {
+        User user = new User();
+        user.setId(longValue(node, "id"));
+        user.setUsername(requireText(node, "username", 3, 50));
+        user.setEmail(requireText(node, "email", 3, 100));
+        if (!EMAIL_PATTERN.matcher(user.getEmail()).matches()) {
+            throw new IllegalArgumentException("邮箱格式不正确");
+        }
+        String passwordHash = text(node, "passwordHash");
+        if (passwordHash != null) {
+            user.setPassword(passwordHash);
+        } else {
+            user.setPassword(PasswordUtil.encryptPassword(requireText(node, "password", 1, 255)));
+        }
+        user.setAvatar(text(node, "avatar"));
+        user.setBio(text(node, "bio"));
+        user.setCreatedAt(dateTime(node, "createdAt"));
+        user.setUpdatedAt(dateTime(node, "updatedAt"));
+        return user;
+    }
+
+    private Article parseArticle(JsonNode node) {
+        Article article = new Article();
+        article.setId(longValue(node, "id"));
+        article.setTitle(requireText(node, "title", 1, 200));
+        article.setContent(requireText(node, "content", 1, Integer.MAX_VALUE));
+        // 没有摘要时导入后由 ArticleProcessingPipeline 生成
+        String summary = text(node, "summary");
+        article.setSummary(summary == null || summary.trim().isEmpty() ? null : summary);
+        article.setAuthorId(longValue(node, "authorId"));
+        if (article.getAuthorId() == null) {
+            throw new IllegalArgumentException("authorId 不能为空");
+        }
+        String status = text(node, "status");
+        if (status == null) {
+            status = "DRAFT";
+        } else if (!"DRAFT".equals(status) && !"PUBLISHED".equals(status)) {
+            throw new IllegalArgumentException("status 只能是 DRAFT 或 PUBLISHED");
+        }
+        article.setStatus(status);
+        Long viewCount = longValue(node, "viewCount");
+        if (viewCount != null && (viewCount < 0 || viewCount > Integer.MAX_VALUE)) {
+            throw new IllegalArgumentException("viewCount 超出范围");
+        }
+        article.setViewCount(viewCount == null ? 0 : viewCount.intValue());
+        article.setCreatedAt(dateTime(node, "createdAt"));
+        article.setUpdatedAt(dateTime(node, "updatedAt"));
+        return article;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String requireText(JsonNode node, String field, int minLength, int maxLength) {
+        String value = text(node, field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(field + " 不能为空");
+        }
+        if (value.length() < minLength || value.length() > maxLength) {
+            throw new IllegalArgumentException(field + " 长度必须在" + minLength + "-" + maxLength + "个字符之间");
+        }
+        return value;
+    }
+
+    private static Long longValue(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (!value.canConvertToLong()) {
+            throw new IllegalArgumentException(field + " 必须是整数");
+        }
+        return value.asLong();
+    }
+
+    private static LocalDateTime dateTime(JsonNode node, String field) {
+        String value = text(node, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException(field + " 必须是 yyyy-MM-ddTHH:mm:ss 格式");
+        }
+    }
+
+    private static long readCheckpoint(Path checkpoint) throws IOException {
+        if (!Files.exists(checkpoint)) {
+            return 0;
+        }
+        return Long.parseLong(new String(Files.readAllBytes(checkpoint), StandardCharsets.UTF_8).trim());
+    }
+
+    /**
+     * 先写临时文件再原子替换，避免中途失败留下不完整的检查点
+     */
+    private static void writeCheckpoint(Path checkpoint, long lineNumber) throws IOException {
+        Files.createDirectories(checkpoint.getParent());
+        Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+        Files.write(temp, Long.toString(lineNumber).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * 把一行JSON转换为实体，校验失败时抛出 IllegalArgumentException
+     */
+    @FunctionalInterface
+    private interface LineParser<T> {
+        T parse(JsonNode node);
+    }
+}
@@ -0,0 +1,142 @@
+package com.community.service;
+
+import com.community.config.AuthProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 无状态签名令牌服务
+ * 
+ * 令牌格式为 密钥ID.用户ID.过期时间.签名（HMAC-SHA256，Base64URL编码），校验时不需要共享存储或查询数据库。
+ * 使用 active-key-id 对应的密钥签发，keys 中的任一密钥都可以校验，因此轮换密钥时可以先在所有节点上
+ * 增加新密钥，再切换 active-key-id，待旧令牌过期后移除旧密钥，全程无需停机。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class TokenService {
+    
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    // 曾经写在配置文件中的示例密钥，已经公开，不能用于签名
+    private static final Set<String> PLACEHOLDER_KEYS = Set.of(
+            "change-me-please-use-a-random-secret-of-32-bytes-or-more");
+    
+    @Autowired
+    private AuthProperties authProperties;
+    
+    private final Map<String, ThreadLocal<Mac>> macs = new HashMap<>();
+    
+    @PostConstruct
+    public void init() {
+        AuthProperties.Token config = authProperties.getToken();
+        for (Map.Entry<String, String> entry : config.getKeys().entrySet()) {
+            String value = entry.getValue();
+            if (value == null || value.isEmpty()) {
+                // 未设置的密钥不参与签名和校验，token 模式下当前签名密钥缺失时在下面报错
+                continue;
+            }
+            byte[] secret = value.getBytes(StandardCharsets.UTF_8);
+            if (authProperties.isTokenMode() && secret.length < MIN_KEY_BYTES) {
+                throw new IllegalStateException("令牌密钥 " + entry.getKey() + " 长度不能少于 " + MIN_KEY_BYTES + " 字节");
+            }
+            if (authProperties.isTokenMode() && isPlaceholder(value)) {
+                throw new IllegalStateException("令牌密钥 " + entry.getKey() + " 使用了公开的示例值，请设置随机密钥");
+            }
+            SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+            macs.put(entry.getKey(), ThreadLocal.withInitial(() -> newMac(key)));
+        }
+        if (authProperties.isTokenMode() && !macs.containsKey(config.getActiveKeyId())) {
+            throw new IllegalStateException("未配置当前签名密钥: " + config.getActiveKeyId()
+                    + "，请在 community.auth.token.keys 中配置（k1 对应环境变量 COMMUNITY_TOKEN_KEY_K1）");
+        }
+    }
+    
+    /**
+     * 签发令牌
+     * 
+     * @param userId 用户ID
+     * @return 令牌
+     */
+    public String issue(Long userId) {
+        String keyId = authProperties.getToken().getActiveKeyId();
+        long expiresAt = System.currentTimeMillis() / 1000 + authProperties.getToken().getTtlSeconds();
+        String payload = keyId + "." + Long.toString(userId, 36) + "." + Long.toString(expiresAt, 36);
+        return payload + "." + sign(keyId, payload);
+    }
+    
+    /**
+     * 校验令牌
+     * 
+     * @param token 令牌
+     * @return 用户ID，令牌无效或已过期时返回null
+     */
+    public Long verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int signatureStart = token.lastIndexOf('.');
+        int keyEnd = token.indexOf('.');
+        if (keyEnd <= 0 || signatureStart <= keyEnd) {
+            return null;
+        }
+        String keyId = token.substring(0, keyEnd);
+        if (!macs.containsKey(keyId)) {
+            return null;
+        }
+        
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(keyId, payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return null;
+        }
+        
+        String[] parts = payload.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            long expiresAt = Long.parseLong(parts[2], 36);
+            if (expiresAt < System.currentTimeMillis() / 1000) {
+                return null;
+            }
+            return Long.parseLong(parts[1], 36);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    private static boolean isPlaceholder(String value) {
+        return PLACEHOLDER_KEYS.contains(value) || value.toLowerCase(Locale.ROOT).startsWith("change-me");
+    }
+    
+    private String sign(String keyId, String payload) {
+        Mac mac = macs.get(keyId).get();
+        byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+    
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("初始化令牌签名失败", e);
+        }
+    }
+}
@@ -0,0 +1,662 @@
+package com.community.service;
+
+import com.community.entity.Article;
+import com.community.entity.ArticleDerivedFields;
+import com.community.entity.User;
+import com.community.event.ArticleChangedEvent;
+import com.community.event.ArticlesProcessedEvent;
+import com.community.event.UserUpdatedEvent;
+import com.community.utils.LongDoubleHashMap;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 热门文章
+ *
+ * 每次浏览文章详情时给该文章的分数加上按时间指数衰减的权重，分数存放在内存中的 long -> double 哈希表里，
+ * 同时维护分数最高的 top-k 篇文章（最小堆）。查询只读内存，不访问数据库。
+ *
+ * 浏览先累加到按文章分开的计数器（LongAdder），不加锁；定时（fold-interval-ms）在锁内把计数按当时的权重
+ * 合并进分数和堆，浏览时间的误差不超过合并间隔，相对半衰期可以忽略。
+ *
+ * 衰减采用前向衰减：t 时刻的一次浏览记为 exp((t - landmark) / tau)，所有分数共用同一个 landmark，
+ * 排序不需要随时间重算；指数过大时把所有分数同乘一个系数并前移 landmark。这样分数只增不减，
+ * 堆内文章的分数总是不低于堆外的文章，最小堆即可精确维护 top-k。
+ *
+ * 分数和 top-k 文章摘要定时写入检查点文件，重启后恢复，停机期间的衰减自动计入。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final int CHECKPOINT_MAGIC = 0x54524e44;  // "TRND"
+    private static final int CHECKPOINT_VERSION = 1;
+
+    // 权重指数超过该值时重新归一化，避免 double 溢出
+    private static final double MAX_EXPONENT = 60;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 半衰期：一次浏览的权重经过该时间后减半
+    @Value("${community.trending.half-life-minutes:360}")
+    private long halfLifeMinutes;
+
+    @Value("${community.trending.top-k:100}")
+    private int topK;
+
+    // 衰减后的分数低于该值时在检查点时移除，约等于一次浏览经过 log2(1/该值) 个半衰期
+    @Value("${community.trending.prune-below:0.01}")
+    private double pruneBelow;
+
+    @Value("${community.trending.checkpoint-file:./data/trending.checkpoint}")
+    private String checkpointFile;
+
+    // 尚未合并的浏览（文章ID -> 计数和最近一次浏览时的文章）
+    private final ConcurrentHashMap<Long, PendingViews> pending = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private LongDoubleHashMap scores;
+    private TopK top;
+    private long landmarkMillis;
+    private double tauMillis;
+
+    private final LongAdder views = new LongAdder();
+    private volatile long lastCheckpointMillis;
+
+    @PostConstruct
+    public void init() {
+        tauMillis = halfLifeMinutes * 60_000.0 / Math.log(2);
+        scores = new LongDoubleHashMap(1024);
+        top = new TopK(topK);
+        landmarkMillis = System.currentTimeMillis();
+        try {
+            restore(Paths.get(checkpointFile));
+        } catch (IOException | RuntimeException e) {
+            log.warn("热门文章检查点读取失败，从空白状态开始", e);
+            scores = new LongDoubleHashMap(1024);
+            top = new TopK(topK);
+            landmarkMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * 记录一次浏览，只统计已发布的文章
+     *
+     * @param article 被浏览的文章（详情接口刚读取的文章）
+     */
+    public void recordView(Article article) {
+        if (article == null || article.getId() == null || !"PUBLISHED".equals(article.getStatus())) {
+            return;
+        }
+        Long id = article.getId();
+        PendingViews entry = pending.get(id);
+        if (entry == null) {
+            entry = pending.computeIfAbsent(id, k -> new PendingViews());
+        }
+        entry.article = article;
+        entry.count.increment();
+        views.increment();
+
+        // 计数器已被合并线程移除时，把这次浏览转移到新的计数器上
+        if (pending.get(id) != entry) {
+            long moved = entry.count.sumThenReset();
+            if (moved > 0) {
+                PendingViews current = pending.computeIfAbsent(id, k -> new PendingViews());
+                current.article = article;
+                current.count.add(moved);
+            }
+        }
+    }
+
+    /**
+     * 定时把累计的浏览合并进分数和 top-k
+     */
+    @Scheduled(fixedDelayString = "${community.trending.fold-interval-ms:1000}")
+    public void fold() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            double exponent = (now - landmarkMillis) / tauMillis;
+            if (exponent > MAX_EXPONENT) {
+                renormalize(now);
+                exponent = 0;
+            }
+            double weight = Math.exp(exponent);
+            for (Map.Entry<Long, PendingViews> e : pending.entrySet()) {
+                PendingViews entry = e.getValue();
+                long count = entry.count.sumThenReset();
+                if (count == 0 && pending.remove(e.getKey(), entry)) {
+                    // 移除后可能仍有并发的浏览落在旧计数器上，一并取走
+                    count = entry.count.sumThenReset();
+                }
+                if (count > 0) {
+                    long id = e.getKey();
+                    double score = scores.addTo(id, count * weight);
+                    top.offer(id, score, entry.article);
+                }
+            }
+        }
+    }
+
+    /**
+     * 获取热门文章，按当前分数从高到低排列
+     *
+     * 返回的文章不含正文，浏览次数为最近一次浏览时的值。
+     *
+     * @param limit 最大条数
+     * @return 文章列表
+     */
+    public List<Article> getTrending(int limit) {
+        List<Entry> entries;
+        synchronized (lock) {
+            entries = top.snapshot();
+        }
+        entries.sort((a, b) -> Double.compare(b.score, a.score));
+        List<Article> articles = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry entry : entries) {
+            if (articles.size() >= limit) {
+                break;
+            }
+            if (entry.article != null) {
+                articles.add(entry.article);
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * 文章修改后更新摘要；删除或撤回发布后移出排行
+     */
+    @EventListener
+    public void onArticleChanged(ArticleChangedEvent event) {
+        if (event.isPublishedAfter()) {
+            synchronized (lock) {
+                top.refresh(event.getCurrent());
+            }
+            return;
+        }
+        Long id = event.getArticleId();
+        if (id == null) {
+            return;
+        }
+        pending.remove(id);
+        synchronized (lock) {
+            if (scores.get(id, 0) > 0) {
+                scores.put(id, 0);
+            }
+            if (top.remove(id)) {
+                refill();
+            }
+        }
+    }
+
+    /**
+     * 派生字段写回后更新排行中的文章
+     */
+    @EventListener
+    public void onArticlesProcessed(ArticlesProcessedEvent event) {
+        synchronized (lock) {
+            for (ArticleDerivedFields fields : event.getFields()) {
+                top.applyDerived(fields);
+            }
+        }
+    }
+
+    /**
+     * 作者资料更新后替换排行中该作者文章的作者信息
+     */
+    @EventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        Long userId = event.getUserId();
+        User author = userService.loadAuthors(Collections.singleton(userId)).get(userId);
+        if (author == null) {
+            return;
+        }
+        synchronized (lock) {
+            top.replaceAuthor(userId, author);
+        }
+    }
+
+    /**
+     * 定时移除分数已衰减到很低的文章并写入检查点
+     */
+    @Scheduled(fixedDelayString = "${community.trending.checkpoint-interval-ms:60000}",
+               initialDelayString = "${community.trending.checkpoint-interval-ms:60000}")
+    public void checkpoint() {
+        try {
+            fold();
+            prune();
+            write(Paths.get(checkpointFile));
+        } catch (IOException | RuntimeException e) {
+            log.warn("热门文章检查点写入失败", e);
+        }
+    }
+
+    /**
+     * 应用关闭前写入检查点
+     */
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    /**
+     * 当前状态
+     *
+     * @return 统计信息
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        synchronized (lock) {
+            stats.trackedArticles = scores.size();
+            stats.topSize = top.size;
+        }
+        stats.views = views.sum();
+        stats.halfLifeMinutes = halfLifeMinutes;
+        stats.lastCheckpointMillis = lastCheckpointMillis;
+        return stats;
+    }
+
+    /**
+     * 所有分数同乘 exp(-(now - landmark) / tau)，landmark 前移到 now，排序不变
+     */
+    private void renormalize(long now) {
+        double factor = Math.exp(-(now - landmarkMillis) / tauMillis);
+        scores.scale(factor);
+        top.scale(factor);
+        landmarkMillis = now;
+    }
+
+    private void prune() {
+        long now = System.currentTimeMillis();
+        synchronized (lock) {
+            // 换算为当前时刻的衰减后分数再比较
+            double threshold = pruneBelow * Math.exp((now - landmarkMillis) / tauMillis);
+            int removed = scores.retainIf((id, score) -> score >= threshold || top.contains(id));
+            if (removed > 0) {
+                log.debug("热门文章：移除 {} 篇分数过低的文章，剩余 {} 篇", removed, scores.size());
+            }
+        }
+    }
+
+    /**
+     * 堆中移除一篇文章后，从哈希表中找出堆外分数最高的文章补上。
+     * 补上的文章还没有摘要，下次被浏览后才会出现在结果中。
+     */
+    private void refill() {
+        long[] best = new long[1];
+        double[] bestScore = {0};
+        scores.forEach((id, score) -> {
+            if (score > bestScore[0] && !top.contains(id)) {
+                best[0] = id;
+                bestScore[0] = score;
+            }
+        });
+        if (bestScore[0] > 0) {
+            top.offer(best[0], bestScore[0], null);
+        }
+    }
+
+    private void write(Path path) throws IOException {
+        List<Entry> entries;
+        long landmark;
+        long[] ids;
+        double[] values;
+        synchronized (lock) {
+            entries = top.snapshot();
+            landmark = landmarkMillis;
+            int count = scores.size();
+            ids = new long[count];
+            values = new double[count];
+            int[] index = {0};
+            scores.forEach((id, score) -> {
+                ids[index[0]] = id;
+                values[index[0]] = score;
+                index[0]++;
+            });
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // 先写临时文件再原子替换，避免中途失败留下不完整的检查点
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(CHECKPOINT_VERSION);
+            out.writeLong(landmark);
+            out.writeDouble(tauMillis);
+            out.writeInt(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                out.writeLong(ids[i]);
+                out.writeDouble(values[i]);
+            }
+            int withArticle = 0;
+            for (Entry entry : entries) {
+                if (entry.article != null) {
+                    withArticle++;
+                }
+            }
+            out.writeInt(withArticle);
+            for (Entry entry : entries) {
+                if (entry.article != null) {
+                    byte[] json = objectMapper.writeValueAsBytes(entry.article);
+                    out.writeInt(json.length);
+                    out.write(json);
+                }
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lastCheckpointMillis = System.currentTimeMillis();
+    }
+
+    private void restore(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) {
+                throw new IOException("检查点格式不正确");
+            }
+            long landmark = in.readLong();
+            double savedTau = in.readDouble();
+            int count = in.readInt();
+            LongDoubleHashMap restored = new LongDoubleHashMap(Math.max(1024, count));
+            for (int i = 0; i < count; i++) {
+                restored.put(in.readLong(), in.readDouble());
+            }
+            int articles = in.readInt();
+            List<Article> items = new ArrayList<>(articles);
+            for (int i = 0; i < articles; i++) {
+                byte[] json = new byte[in.readInt()];
+                in.readFully(json);
+                items.add(objectMapper.readValue(json, Article.class));
+            }
+
+            synchronized (lock) {
+                scores = restored;
+                landmarkMillis = landmark;
+                if (savedTau != tauMillis) {
+                    // 半衰期配置变化后，把旧分数换算到当前时刻再按新的半衰期继续累计
+                    long now = System.currentTimeMillis();
+                    scores.scale(Math.exp(-(now - landmark) / savedTau));
+                    landmarkMillis = now;
+                }
+                top = new TopK(topK);
+                for (Article article : items) {
+                    double score = scores.get(article.getId(), 0);
+                    if (score > 0) {
+                        top.offer(article.getId(), score, article);
+                    }
+                }
+            }
+            log.info("热门文章检查点已恢复：{} 篇文章的分数，{} 篇热门文章", count, top.size);
+        }
+    }
+
+    /**
+     * 一篇文章尚未合并的浏览
+     */
+    private static class PendingViews {
+
+        private final LongAdder count = new LongAdder();
+        private volatile Article article;   // 最近一次浏览时的文章，用于堆中的摘要
+    }
+
+    /**
+     * 按分数排序的条目
+     */
+    private static class Entry {
+
+        private final double score;
+        private final Article article;
+
+        Entry(double score, Article article) {
+            this.score = score;
+            this.article = article;
+        }
+    }
+
+    /**
+     * 容量固定的最小堆，堆顶是 top-k 中分数最低的文章
+     *
+     * 只有分数不低于堆顶的文章才可能在堆中，因此大部分长尾文章的浏览只需比较一次堆顶。
+     * 堆中保存文章摘要（不含正文）用于直接返回；文章ID到堆中位置的映射随元素移动维护。
+     */
+    private static class TopK {
+
+        private final long[] ids;
+        private final double[] scores;
+        private final Article[] articles;
+        private final Map<Long, Integer> slots;
+        private int size;
+
+        TopK(int capacity) {
+            int k = Math.max(1, capacity);
+            this.ids = new long[k];
+            this.scores = new double[k];
+            this.articles = new Article[k];
+            this.slots = new HashMap<>(k * 2);
+        }
+
+        void offer(long id, double score, Article article) {
+            if (size == ids.length && score < scores[0]) {
+                return;
+            }
+            int index = indexOf(id);
+            if (index >= 0) {
+                scores[index] = score;
+                if (article != null) {
+                    articles[index] = summary(article);
+                }
+                siftDown(index);
+                return;
+            }
+            Article item = article == null ? null : summary(article);
+            if (size < ids.length) {
+                set(size, id, score, item);
+                siftUp(size++);
+            } else {
+                slots.remove(ids[0]);
+                set(0, id, score, item);
+                siftDown(0);
+            }
+        }
+
+        boolean contains(long id) {
+            return indexOf(id) >= 0;
+        }
+
+        boolean remove(long id) {
+            int index = indexOf(id);
+            if (index < 0) {
+                return false;
+            }
+            slots.remove(id);
+            size--;
+            if (index != size) {
+                set(index, ids[size], scores[size], articles[size]);
+                siftDown(index);
+                siftUp(index);
+            }
+            articles[size] = null;
+            return true;
+        }
+
+        void refresh(Article article) {
+            int index = indexOf(article.getId());
+            if (index >= 0) {
+                Article item = summary(article);
+                if (articles[index] != null && item.getViewCount() != null && articles[index].getViewCount() != null) {
+                    // 缓存中的文章不含未写回的浏览次数，保留较大的值
+                    item.setViewCount(Math.max(item.getViewCount(), articles[index].getViewCount()));
+                }
+                articles[index] = item;
+            }
+        }
+
+        void applyDerived(ArticleDerivedFields fields) {
+            int index = indexOf(fields.getArticleId());
+            if (index >= 0 && articles[index] != null && fields.getVersion().equals(articles[index].getVersion())) {
+                Article item = new Article(articles[index]);
+                if (item.getSummary() == null) {
+                    item.setSummary(fields.getSummary());
+                }
+                item.setWordCount(fields.getWordCount());
+                item.setReadingMinutes(fields.getReadingMinutes());
+                item.setCoverImage(fields.getCoverImage());
+                articles[index] = item;
+            }
+        }
+
+        void replaceAuthor(Long userId, User author) {
+            for (int i = 0; i < size; i++) {
+                if (articles[i] != null && userId.equals(articles[i].getAuthorId())) {
+                    Article item = new Article(articles[i]);
+                    item.setAuthor(author);
+                    articles[i] = item;
+                }
+            }
+        }
+
+        void scale(double factor) {
+            for (int i = 0; i < size; i++) {
+                scores[i] *= factor;
+            }
+        }
+
+        List<Entry> snapshot() {
+            List<Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                entries.add(new Entry(scores[i], articles[i]));
+            }
+            return entries;
+        }
+
+        private int indexOf(long id) {
+            Integer index = slots.get(id);
+            return index == null ? -1 : index;
+        }
+
+        private void set(int index, long id, double score, Article article) {
+            ids[index] = id;
+            scores[index] = score;
+            articles[index] = article;
+            slots.put(id, index);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (scores[parent] <= scores[index]) {
+                    break;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    break;
+                }
+                int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+                if (scores[index] <= scores[smallest]) {
+                    break;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            double score = scores[a];
+            Article article = articles[a];
+            set(a, ids[b], scores[b], articles[b]);
+            set(b, id, score, article);
+        }
+
+        /**
+         * 摘要副本，不含正文；放入堆后不再修改，可以直接返回给调用方
+         */
+        private static Article summary(Article article) {
+            Article item = new Article(article);
+            item.setContent(null);
+            return item;
+        }
+    }
+
+    /**
+     * 热门文章统计
+     */
+    public static class Stats {
+
+        private int trackedArticles;        // 哈希表中有分数的文章数
+        private int topSize;
+        private long views;                 // 启动以来记录的浏览次数
+        private long halfLifeMinutes;
+        private long lastCheckpointMillis;
+
+        public int getTrackedArticles() {
+            return trackedArticles;
+        }
+
+        public int getTopSize() {
+            return topSize;
+        }
+
+        public long getViews() {
+            return views;
+        }
+
+        public long getHalfLifeMinutes() {
+            return halfLifeMinutes;
+        }
+
+        public long getLastCheckpointMillis() {
+            return lastCheckpointMillis;
+        }
+    }
+}
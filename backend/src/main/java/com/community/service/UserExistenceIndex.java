@@ -0,0 +1,262 @@
+package com.community.service;
+
+import com.community.datasource.ReadWriteRouting;
+import com.community.entity.User;
+import com.community.mapper.UserMapper;
+import com.community.utils.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 用户名、邮箱是否存在的布隆过滤器
+ *
+ * 启动时逐行读取 users 表构建，注册和修改资料时同步加入。其他实例注册的用户要等到下次重建才会加入，
+ * 因此判断为一定不存在并不可靠，只用于注册时跳过重复检查的查询，漏判的重复由数据库唯一约束兜底；
+ * 查询用户的接口不能用它跳过数据库。
+ *
+ * 数据库使用不区分大小写、忽略尾部空格的排序规则，这里按同样的规则归一化；
+ * 含有非可见ASCII字符的值在数据库中还有其他等价形式，一律视为可能存在。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+public class UserExistenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserExistenceIndex.class);
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Value("${community.user-filter.enabled:true}")
+    private boolean enabled;
+
+    // 过滤器最小容量，实际容量为 max(该值, 用户数 * 2)
+    @Value("${community.user-filter.min-expected-insertions:100000}")
+    private long minExpectedInsertions;
+
+    @Value("${community.user-filter.fpp:0.01}")
+    private double fpp;
+
+    // 构建完成前为null，此时所有判断都返回可能存在
+    private volatile Filters filters;
+    // 正在构建的过滤器，构建期间新增的用户同时写入
+    private volatile Filters rebuilding;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final LongAdder skippedLookups = new LongAdder();
+
+    /**
+     * 应用启动后在后台构建
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildInBackground();
+    }
+
+    /**
+     * 定时重建，纳入其他实例注册的用户，并在容量用满后扩容
+     */
+    @Scheduled(fixedDelayString = "${community.user-filter.rebuild-interval-ms:600000}",
+               initialDelayString = "${community.user-filter.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!enabled || !building.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Filters rebuilt;
+            long users;
+            // 从库上还没有同步的用户会从新的过滤器中丢失，读主库
+            boolean previous = ReadWriteRouting.beginPrimary();
+            try {
+                users = userMapper.countAll();
+                rebuilt = new Filters(Math.max(minExpectedInsertions, users * 2), fpp);
+                rebuilding = rebuilt;
+                userMapper.scanUsernamesAndEmails(context -> {
+                    User user = context.getResultObject();
+                    rebuilt.add(user.getUsername(), user.getEmail());
+                });
+            } finally {
+                ReadWriteRouting.endPrimary(previous);
+            }
+            filters = rebuilt;
+            log.info("用户名/邮箱过滤器构建完成，共 {} 个用户，耗时 {} ms", users, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.warn("用户名/邮箱过滤器构建失败", e);
+        } finally {
+            rebuilding = null;
+            building.set(false);
+        }
+    }
+
+    /**
+     * 用户名是否可能已存在
+     *
+     * @param username 用户名
+     * @return false表示一定不存在
+     */
+    public boolean mightContainUsername(String username) {
+        Filters current = filters;
+        return current == null || check(current.usernames, username);
+    }
+
+    /**
+     * 邮箱是否可能已存在
+     *
+     * @param email 邮箱
+     * @return false表示一定不存在
+     */
+    public boolean mightContainEmail(String email) {
+        Filters current = filters;
+        return current == null || check(current.emails, email);
+    }
+
+    /**
+     * 新增或修改用户后加入过滤器，须在数据库写入成功之后调用
+     *
+     * @param username 用户名，为null时忽略
+     * @param email 邮箱，为null时忽略
+     */
+    public void add(String username, String email) {
+        Filters current = filters;
+        if (current != null) {
+            current.add(username, email);
+            if (current.usernames.isSaturated() || current.emails.isSaturated()) {
+                rebuildInBackground();
+            }
+        }
+        Filters target = rebuilding;
+        if (target != null) {
+            target.add(username, email);
+        }
+    }
+
+    /**
+     * 当前状态
+     *
+     * @return 统计信息
+     */
+    public Stats stats() {
+        Stats stats = new Stats();
+        Filters current = filters;
+        stats.ready = current != null;
+        if (current != null) {
+            stats.expectedInsertions = current.usernames.getExpectedInsertions();
+            stats.insertions = current.usernames.getInsertions();
+            stats.bitSize = current.usernames.getBitSize() + current.emails.getBitSize();
+            stats.hashFunctions = current.usernames.getHashFunctions();
+        }
+        stats.skippedLookups = skippedLookups.sum();
+        return stats;
+    }
+
+    private boolean check(BloomFilter filter, String value) {
+        String key = normalize(value);
+        if (key == null || filter.mightContain(key)) {
+            return true;
+        }
+        skippedLookups.increment();
+        return false;
+    }
+
+    private void rebuildInBackground() {
+        if (!enabled || building.get()) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "user-filter-build");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 按数据库的比较规则归一化：去掉尾部空格并转为小写
+     *
+     * @return 含有其他字符时返回null
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        int end = value.length();
+        while (end > 0 && value.charAt(end - 1) == ' ') {
+            end--;
+        }
+        char[] chars = new char[end];
+        for (int i = 0; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                return null;
+            }
+            chars[i] = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(chars);
+    }
+
+    private static class Filters {
+
+        private final BloomFilter usernames;
+        private final BloomFilter emails;
+
+        Filters(long expectedInsertions, double fpp) {
+            this.usernames = new BloomFilter(expectedInsertions, fpp);
+            this.emails = new BloomFilter(expectedInsertions, fpp);
+        }
+
+        void add(String username, String email) {
+            String usernameKey = normalize(username);
+            if (usernameKey != null) {
+                usernames.put(usernameKey);
+            }
+            String emailKey = normalize(email);
+            if (emailKey != null) {
+                emails.put(emailKey);
+            }
+        }
+    }
+
+    /**
+     * 过滤器统计
+     */
+    public static class Stats {
+
+        private boolean ready;
+        private long expectedInsertions;
+        private long insertions;
+        private long bitSize;          // 用户名和邮箱两个过滤器的总位数
+        private int hashFunctions;
+        private long skippedLookups;   // 注册时判断为一定不存在而跳过的重复检查查询次数
+
+        public boolean isReady() {
+            return ready;
+        }
+
+        public long getExpectedInsertions() {
+            return expectedInsertions;
+        }
+
+        public long getInsertions() {
+            return insertions;
+        }
+
+        public long getBitSize() {
+            return bitSize;
+        }
+
+        public int getHashFunctions() {
+            return hashFunctions;
+        }
+
+        public long getSkippedLookups() {
+            return skippedLookups;
+        }
+    }
+}
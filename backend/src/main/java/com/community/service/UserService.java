@@ -1,13 +1,32 @@
 package com.community.service;
 
+import com.community.dto.ArticleListItem;
 import com.community.dto.LoginRequest;
 import com.community.dto.RegisterRequest;
 import com.community.entity.User;
+import com.community.event.UserUpdatedEvent;
+import com.community.exception.VersionConflictException;
 import com.community.mapper.UserMapper;
+import com.community.utils.LocalCache;
 import com.community.utils.PasswordUtil;
+import com.community.utils.SingleFlight;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * 用户服务类
  * 
@@ -20,6 +39,50 @@ public class UserService {
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private UserExistenceIndex userExistenceIndex;
+    
+    @Value("${community.cache.user-profile.max-size:10000}")
+    private int profileCacheMaxSize;
+    
+    @Value("${community.cache.user-profile.ttl-seconds:300}")
+    private long profileCacheTtlSeconds;
+    
+    @Value("${community.cache.user-author.max-size:10000}")
+    private int authorCacheMaxSize;
+    
+    @Value("${community.cache.user-author.ttl-seconds:300}")
+    private long authorCacheTtlSeconds;
+    
+    // 等待其他请求加载同一个用户的最长时间
+    @Value("${community.single-flight.timeout-ms:3000}")
+    private long singleFlightTimeoutMs;
+    
+    // 批量查询一次最多的用户数
+    @Value("${community.batch.max-size:100}")
+    private int batchMaxSize;
+    
+    // 用户主页缓存（用户名 -> 用户）
+    private LocalCache<String, User> profileCache;
+    
+    // 文章作者缓存（用户ID -> 用户，不含密码），供文章列表批量加载作者信息
+    private LocalCache<Long, User> authorCache;
+    
+    // 合并同一个用户的并发查询（当前用户接口按ID、用户主页按用户名）
+    private SingleFlight<Long, User> userLoads;
+    private SingleFlight<String, User> profileLoads;
+    
+    @PostConstruct
+    public void init() {
+        profileCache = new LocalCache<>("user-profile", profileCacheMaxSize, profileCacheTtlSeconds);
+        authorCache = new LocalCache<>("user-author", authorCacheMaxSize, authorCacheTtlSeconds);
+        userLoads = new SingleFlight<>("user", singleFlightTimeoutMs);
+        profileLoads = new SingleFlight<>("user-profile", singleFlightTimeoutMs);
+    }
+    
     /**
      * 用户注册
      * 
@@ -27,13 +90,15 @@ public class UserService {
      * @return 注册结果
      */
     public User register(RegisterRequest request) {
-        // 检查用户名是否已存在
-        if (userMapper.findByUsername(request.getUsername()) != null) {
+        // 检查用户名是否已存在（过滤器判断一定不存在时跳过查询）
+        if (userExistenceIndex.mightContainUsername(request.getUsername())
+                && userMapper.findByUsername(request.getUsername()) != null) {
             throw new RuntimeException("用户名已存在");
         }
         
         // 检查邮箱是否已存在
-        if (userMapper.findByEmail(request.getEmail()) != null) {
+        if (userExistenceIndex.mightContainEmail(request.getEmail())
+                && userMapper.findByEmail(request.getEmail()) != null) {
             throw new RuntimeException("邮箱已被注册");
         }
         
@@ -44,9 +109,15 @@ public class UserService {
         user.setPassword(PasswordUtil.encryptPassword(request.getPassword()));
         user.setBio(request.getBio());
         
-        // 保存用户
-        int result = userMapper.insert(user);
+        // 保存用户，并发注册相同用户名或邮箱时由唯一约束兜底
+        int result;
+        try {
+            result = userMapper.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw new RuntimeException(duplicateKeyMessage(e));
+        }
         if (result > 0) {
+            userExistenceIndex.add(user.getUsername(), user.getEmail());
             // 返回用户信息（不包含密码）
             return userMapper.findById(user.getId());
         } else {
@@ -82,7 +153,9 @@ public class UserService {
      * @return 用户信息
      */
     public User findById(Long id) {
-        return userMapper.findById(id);
+        User user = userLoads.load(id, () -> userMapper.findById(id));
+        // 并发的调用共享同一个对象，返回副本
+        return user == null ? null : new User(user);
     }
     
     /**
@@ -92,16 +165,224 @@ public class UserService {
      * @return 用户信息
      */
     public User findByUsername(String username) {
-        return userMapper.findByUsername(username);
+        // 用户名比较不区分大小写，不同写法共享同一个缓存项和加载
+        String key = profileKey(username);
+        User cached = profileCache.get(key);
+        if (cached == null) {
+            // 不使用布隆过滤器：其他实例刚注册的用户要等到重建后才会加入，判断为不存在并不可靠
+            cached = profileLoads.load(key, () -> {
+                // 查询期间资料被修改时不写入缓存
+                long generation = profileCache.generation(key);
+                User user = userMapper.findByUsername(username);
+                if (user != null) {
+                    profileCache.putIfUnchanged(key, user, generation);
+                }
+                return user;
+            });
+            if (cached == null) {
+                return null;
+            }
+        }
+        return new User(cached);
+    }
+    
+    /**
+     * 根据用户名批量查询用户，先查缓存，未命中的用户名合并为一次 IN 查询
+     * 
+     * @param usernames 用户名列表，可以重复
+     * @return 与用户名顺序相同的用户列表，不存在的用户为null
+     * @throws IllegalArgumentException 用户名数量超过上限
+     */
+    public List<User> findByUsernames(List<String> usernames) {
+        if (usernames.size() > batchMaxSize) {
+            throw new IllegalArgumentException("一次最多查询 " + batchMaxSize + " 个用户");
+        }
+        // 以小写用户名为键（与单个查询的缓存一致），同一用户的不同写法共享一个缓存项
+        Map<String, User> found = new HashMap<>();
+        Map<String, Long> generations = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String username : usernames) {
+            if (username == null) {
+                continue;
+            }
+            String key = profileKey(username);
+            if (found.containsKey(key)) {
+                continue;
+            }
+            User cached = generations.containsKey(key) ? null : profileCache.get(key);
+            if (cached != null) {
+                found.put(key, cached);
+            } else {
+                generations.putIfAbsent(key, profileCache.generation(key));
+                missing.add(username);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (User user : userMapper.findByUsernames(missing)) {
+                String key = profileKey(user.getUsername());
+                Long generation = generations.get(key);
+                if (generation != null && found.putIfAbsent(key, user) == null) {
+                    profileCache.putIfUnchanged(key, user, generation);
+                }
+            }
+        }
+        
+        List<User> users = new ArrayList<>(usernames.size());
+        for (String username : usernames) {
+            User cached = username == null ? null : found.get(profileKey(username));
+            users.add(cached == null ? null : new User(cached));
+        }
+        return users;
+    }
+    
+    /**
+     * 批量加载作者信息，缓存未命中的ID合并为一次 IN 查询
+     * 
+     * 返回的是缓存中的共享对象，调用方不能修改。
+     * 
+     * @param ids 用户ID集合
+     * @return 用户ID -> 用户，不存在的ID不包含在结果中
+     */
+    public Map<Long, User> loadAuthors(Collection<Long> ids) {
+        Map<Long, User> authors = new HashMap<>();
+        Map<Long, Long> generations = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id == null || authors.containsKey(id)) {
+                continue;
+            }
+            User cached = authorCache.get(id);
+            if (cached != null) {
+                authors.put(id, cached);
+            } else if (missing.add(id)) {
+                generations.put(id, authorCache.generation(id));
+            }
+        }
+        if (!missing.isEmpty()) {
+            // 查询期间资料被修改时不写入缓存，避免覆盖 updateProfile 写入的最新资料
+            for (User user : userMapper.findByIds(missing)) {
+                authorCache.putIfUnchanged(user.getId(), user, generations.get(user.getId()));
+                authors.put(user.getId(), user);
+            }
+        }
+        return authors;
     }
     
     /**
-     * 更新用户信息
+     * 为文章列表填充作者信息（列表查询不关联 users 表，只填充ID、用户名和头像）
      * 
-     * @param user 用户信息
-     * @return 更新结果
+     * @param articles 文章列表
+     * @return 同一个文章列表
+     */
+    public List<ArticleListItem> attachAuthors(List<ArticleListItem> articles) {
+        if (articles.isEmpty()) {
+            return articles;
+        }
+        List<Long> authorIds = new ArrayList<>(articles.size());
+        for (ArticleListItem article : articles) {
+            authorIds.add(article.getAuthorId());
+        }
+        Map<Long, User> authors = loadAuthors(authorIds);
+        for (ArticleListItem article : articles) {
+            article.setAuthor(ArticleListItem.compactAuthor(authors.get(article.getAuthorId())));
+        }
+        return articles;
+    }
+    
+    /**
+     * 更新头像和简介
+     * 
+     * 版本检查和写入由一条 UPDATE 完成，成功后用作者缓存中的用户合并本次修改的字段作为结果，
+     * 缓存未命中、版本不一致或请求未携带版本号时才从数据库重新读取。
+     * 
+     * @param userId 用户ID
+     * @param avatar 头像，为null时不修改
+     * @param bio 简介，为null时不修改
+     * @param version 客户端读取时的版本号，为null时不检查版本
+     * @return 更新后的用户信息
+     * @throws VersionConflictException 资料已被其他请求修改，异常中携带最新的用户信息
+     */
+    public User updateProfile(Long userId, String avatar, String bio, Integer version) {
+        User update = new User();
+        update.setId(userId);
+        update.setAvatar(avatar);
+        update.setBio(bio);
+        update.setVersion(version);
+        update.setUpdatedAt(LocalDateTime.now().withNano(0));
+        if (userMapper.updateProfile(update) == 0) {
+            User current = userMapper.findById(userId);
+            if (current == null) {
+                throw new RuntimeException("用户不存在");
+            }
+            current.setPassword(null);
+            authorCache.put(userId, current);
+            throw new VersionConflictException("资料已被修改，请基于最新资料重新编辑", new User(current));
+        }
+        
+        User base = authorCache.get(userId);
+        User updated;
+        if (base != null && version != null && version.equals(base.getVersion())) {
+            updated = new User(base);
+            if (avatar != null) {
+                updated.setAvatar(avatar);
+            }
+            if (bio != null) {
+                updated.setBio(bio);
+            }
+            updated.setVersion(base.getVersion() + 1);
+            updated.setUpdatedAt(update.getUpdatedAt());
+        } else {
+            updated = userMapper.findById(userId);
+            updated.setPassword(null);
+        }
+        // 之后的请求不再等待修改前开始的查询；那次查询的结果因写入代数变化不会写入缓存
+        userLoads.forget(userId);
+        profileLoads.forget(profileKey(updated.getUsername()));
+        profileCache.invalidateIf((username, cached) -> cached.getId().equals(userId));
+        authorCache.put(userId, updated);
+        eventPublisher.publishEvent(new UserUpdatedEvent(userId));
+        return new User(updated);
+    }
+    
+    /**
+     * 资料缓存和合并加载使用的键：数据库按不区分大小写比较用户名，统一转为小写
+     */
+    private static String profileKey(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * 获取用户缓存统计信息
+     * 
+     * @return 缓存统计
+     */
+    public LocalCache.Stats getCacheStats() {
+        return profileCache.stats();
+    }
+    
+    /**
+     * 获取用户查询合并的统计信息
+     * 
+     * @return 合并统计
+     */
+    public List<SingleFlight.Stats> getLoadStats() {
+        return SingleFlight.stats(userLoads, profileLoads);
+    }
+    
+    /**
+     * 获取作者缓存统计信息
+     * 
+     * @return 缓存统计
+     */
+    public LocalCache.Stats getAuthorCacheStats() {
+        return authorCache.stats();
+    }
+    
+    /**
+     * 唯一约束冲突对应的提示信息
      */
-    public boolean updateUser(User user) {
-        return userMapper.update(user) > 0;
+    private static String duplicateKeyMessage(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        return message.contains("email") ? "邮箱已被注册" : "用户名已存在";
     }
 }
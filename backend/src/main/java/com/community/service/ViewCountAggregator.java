@@ -0,0 +1,194 @@
+package com.community.service;
+
+import com.community.event.ViewCountsFlushedEvent;
+import com.community.mapper.ArticleMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 文章浏览次数聚合器
+ * 
+ * 浏览次数先累加到内存中的分段计数器（LongAdder），由定时任务批量写回数据库，
+ * 避免热点文章每次浏览都对同一行执行UPDATE。未刷新的增量超过 max-pending 时立即触发刷新，
+ * 即进程崩溃时最多丢失 max-pending 次浏览。
+ * 
+ * 读取时显示的浏览次数为缓存中的值加上未写回的增量。刷新时增量写回数据库、缓存中的文章加上增量之后，
+ * 才从计数器中扣除，期间显示的次数不会变小（扣除前的极短时间内可能多算这部分增量）。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+@Component
+public class ViewCountAggregator {
+    
+    private static final Logger log = LoggerFactory.getLogger(ViewCountAggregator.class);
+    
+    @Autowired
+    private ArticleMapper articleMapper;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    // 未刷新增量上限，超过后立即刷新
+    @Value("${community.view-count.max-pending:10000}")
+    private long maxPending;
+    
+    // 每条UPDATE语句包含的最大文章数
+    @Value("${community.view-count.flush-batch-size:500}")
+    private int flushBatchSize;
+    
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final LongAdder pendingTotal = new LongAdder();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "view-count-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    /**
+     * 记录一次浏览
+     * 
+     * @param id 文章ID
+     */
+    public void increment(Long id) {
+        LongAdder adder = pending.computeIfAbsent(id, k -> new LongAdder());
+        adder.increment();
+        pendingTotal.increment();
+        
+        // 计数器已被刷新线程移除时，把这次增量转移到新的计数器上
+        if (pending.get(id) != adder) {
+            long moved = adder.sumThenReset();
+            if (moved > 0) {
+                pending.computeIfAbsent(id, k -> new LongAdder()).add(moved);
+            }
+        }
+        
+        if (pendingTotal.sum() >= maxPending && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+    
+    /**
+     * 获取尚未写回数据库的浏览次数
+     * 
+     * @param id 文章ID
+     * @return 未刷新的增量
+     */
+    public long getPending(Long id) {
+        LongAdder adder = pending.get(id);
+        return adder == null ? 0 : adder.sum();
+    }
+    
+    /**
+     * 将累计的增量批量写回数据库
+     */
+    @Scheduled(fixedDelayString = "${community.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushRequested.set(false);
+            Map<Long, Long> deltas = snapshot();
+            if (deltas.isEmpty()) {
+                return;
+            }
+            
+            List<Long> ids = new ArrayList<>(deltas.keySet());
+            Map<Long, Long> flushed = new HashMap<>();
+            for (int from = 0; from < ids.size(); from += flushBatchSize) {
+                Map<Long, Long> chunk = new LinkedHashMap<>();
+                for (Long id : ids.subList(from, Math.min(from + flushBatchSize, ids.size()))) {
+                    chunk.put(id, deltas.get(id));
+                }
+                try {
+                    articleMapper.incrementViewCounts(chunk);
+                    flushed.putAll(chunk);
+                } catch (RuntimeException e) {
+                    // 写回失败的增量留在计数器中，等待下次刷新
+                    log.warn("浏览次数写回失败，{} 篇文章的增量将在下次刷新时重试", chunk.size(), e);
+                }
+            }
+            if (!flushed.isEmpty()) {
+                try {
+                    // 监听器同步执行，返回时缓存中的文章已加上增量
+                    eventPublisher.publishEvent(new ViewCountsFlushedEvent(flushed));
+                } finally {
+                    // 已写入数据库，无论监听器是否成功都要扣除，否则下次会重复写回
+                    flushed.forEach(this::subtract);
+                }
+            }
+            removeIdle();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    /**
+     * 应用关闭前写回所有增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+    
+    /**
+     * 读取各文章当前的增量，不清零
+     */
+    private Map<Long, Long> snapshot() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long delta = entry.getValue().sum();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+            }
+        }
+        return deltas;
+    }
+    
+    /**
+     * 扣除已写回的增量。计数器只由持有 flushLock 的刷新线程移除，与 snapshot 时是同一个
+     */
+    private void subtract(Long id, Long delta) {
+        LongAdder adder = pending.get(id);
+        if (adder != null) {
+            adder.add(-delta);
+            pendingTotal.add(-delta);
+        }
+    }
+    
+    /**
+     * 移除增量已全部写回的计数器
+     */
+    private void removeIdle() {
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            LongAdder adder = entry.getValue();
+            if (adder.sum() == 0 && pending.remove(entry.getKey(), adder)) {
+                // 移除后可能仍有并发的递增落在旧计数器上，转移到新的计数器（已计入 pendingTotal）
+                long late = adder.sumThenReset();
+                if (late != 0) {
+                    pending.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(late);
+                }
+            }
+        }
+    }
+}
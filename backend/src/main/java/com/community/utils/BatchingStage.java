@@ -0,0 +1,201 @@
+package com.community.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 批处理阶段
+ *
+ * 有界队列加一个后台线程：线程每次取出队列中已有的元素（最多 batchSize 个）交给处理函数，
+ * 处理函数一次处理一批。队列满时写入方阻塞（{@link #put}）或等待一段时间后放弃（{@link #offer}），
+ * 处理函数把结果写入下一阶段时使用 {@link #put}，下游积压会逐级传递到上游。
+ *
+ * 处理函数抛出的异常只记录日志，这一批不会重试。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class BatchingStage<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchingStage.class);
+
+    /**
+     * 批处理函数
+     */
+    public interface Handler<T> {
+        void handle(List<T> batch) throws InterruptedException;
+    }
+
+    private final String name;
+    private final int capacity;
+    private final int batchSize;
+    private final Handler<T> handler;
+    private final BlockingQueue<T> queue;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * @param name 阶段名称（用于线程名和统计）
+     * @param capacity 队列容量
+     * @param batchSize 每批最多处理的元素数
+     * @param handler 批处理函数
+     */
+    public BatchingStage(String name, int capacity, int batchSize, Handler<T> handler) {
+        this.name = name;
+        this.capacity = capacity;
+        this.batchSize = Math.max(1, batchSize);
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::run, "stage-" + name);
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * 启动后台线程
+     */
+    public void start() {
+        worker.start();
+    }
+
+    /**
+     * 停止后台线程，队列中未处理的元素被丢弃
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    /**
+     * 写入队列，队列满时最多等待 timeoutMs 毫秒
+     *
+     * @return 是否写入成功
+     */
+    public boolean offer(T item, long timeoutMs) {
+        try {
+            if (queue.offer(item, timeoutMs, TimeUnit.MILLISECONDS)) {
+                accepted.increment();
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 写入队列，队列满时一直等待
+     */
+    public void put(T item) throws InterruptedException {
+        queue.put(item);
+        accepted.increment();
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Stats stats() {
+        return new Stats(name, queue.size(), capacity, accepted.sum(), rejected.sum(),
+                batches.sum(), processed.sum(), failed.sum());
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                handler.handle(batch);
+                batches.increment();
+                processed.add(batch.size());
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                failed.add(batch.size());
+                log.warn("{} 阶段处理失败：{} 个", name, batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 阶段统计信息
+     */
+    public static class Stats {
+
+        private final String name;
+        private final int queued;      // 队列中等待处理的元素数
+        private final int capacity;
+        private final long accepted;
+        private final long rejected;   // 队列满、等待超时后放弃的元素数
+        private final long batches;
+        private final long processed;
+        private final long failed;
+
+        public Stats(String name, int queued, int capacity, long accepted, long rejected,
+                     long batches, long processed, long failed) {
+            this.name = name;
+            this.queued = queued;
+            this.capacity = capacity;
+            this.accepted = accepted;
+            this.rejected = rejected;
+            this.batches = batches;
+            this.processed = processed;
+            this.failed = failed;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public long getAccepted() {
+            return accepted;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public double getAverageBatchSize() {
+            return batches == 0 ? 0 : (double) processed / batches;
+        }
+    }
+}
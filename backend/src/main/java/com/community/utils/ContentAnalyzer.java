@@ -0,0 +1,149 @@
+package com.community.utils;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 文章正文（Markdown）分析
+ *
+ * 去掉Markdown标记得到纯文本，并统计字数、估算阅读时间、提取第一张图片。
+ * 只处理常见的标记（标题、引用、列表、强调、代码、链接、图片和HTML标签），不做完整的Markdown解析。
+ *
+ * 字数按中日韩文字每字一个、其他文字每个连续的字母数字串一个计算。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ContentAnalyzer {
+
+    // 每分钟阅读的中日韩文字数和其他语言单词数
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern FENCE = Pattern.compile("^\\s*(```|~~~)");
+    private static final Pattern RULE = Pattern.compile("^\\s*([-*_]\\s*){3,}$");
+    private static final Pattern LINE_PREFIX = Pattern.compile("^\\s*(>\\s*)*(#{1,6}\\s+|[-*+]\\s+|\\d+[.)]\\s+)?");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)\\]\\(\\s*<?([^)\\s>]+)>?[^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern HTML_IMAGE = Pattern.compile("<img\\s[^>]*?src\\s*=\\s*[\"']([^\"']+)[\"'][^>]*>",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern HTML_TAG = Pattern.compile("</?[a-zA-Z][^>]*>");
+    private static final Pattern EMPHASIS = Pattern.compile("\\*+|~~|`+|(?<![\\p{L}\\p{N}])_+|_+(?![\\p{L}\\p{N}])");
+    private static final Pattern TABLE_SEPARATOR = Pattern.compile("^[\\s|:-]+$");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /**
+     * 分析正文
+     *
+     * @param markdown 正文
+     * @return 分析结果
+     */
+    public static Result analyze(String markdown) {
+        StringBuilder text = new StringBuilder(markdown.length());
+        String firstImage = null;
+        boolean inCode = false;
+        for (String line : markdown.split("\r?\n")) {
+            if (FENCE.matcher(line).find()) {
+                // 代码块保留内容，只去掉围栏
+                inCode = !inCode;
+                continue;
+            }
+            if (!inCode) {
+                if (RULE.matcher(line).matches() || TABLE_SEPARATOR.matcher(line).matches()) {
+                    continue;
+                }
+                if (firstImage == null) {
+                    firstImage = firstImage(line);
+                }
+                line = LINE_PREFIX.matcher(line).replaceFirst("");
+                line = IMAGE.matcher(line).replaceAll("$1");
+                line = LINK.matcher(line).replaceAll("$1");
+                line = HTML_TAG.matcher(line).replaceAll(" ");
+                line = EMPHASIS.matcher(line).replaceAll("");
+                line = line.replace('|', ' ');
+            }
+            line = SPACES.matcher(line).replaceAll(" ").trim();
+            if (!line.isEmpty()) {
+                if (text.length() > 0) {
+                    text.append(' ');
+                }
+                text.append(line);
+            }
+        }
+
+        String plainText = text.toString();
+        int cjkChars = 0;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < plainText.length(); ) {
+            int codePoint = plainText.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isCjk(codePoint)) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+        }
+        int wordCount = cjkChars + words;
+        int readingMinutes = wordCount == 0 ? 0
+                : (int) Math.ceil((double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE);
+        return new Result(plainText, wordCount, readingMinutes, firstImage);
+    }
+
+    private static String firstImage(String line) {
+        Matcher image = IMAGE.matcher(line);
+        Matcher html = HTML_IMAGE.matcher(line);
+        boolean hasImage = image.find();
+        boolean hasHtml = html.find();
+        if (hasImage && (!hasHtml || image.start() < html.start())) {
+            return image.group(2);
+        }
+        return hasHtml ? html.group(1) : null;
+    }
+
+    private static boolean isCjk(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA || script == Character.UnicodeScript.HANGUL;
+    }
+
+    /**
+     * 正文分析结果
+     */
+    public static class Result {
+
+        private final String plainText;
+        private final int wordCount;
+        private final int readingMinutes;  // 正文为空时为0，否则至少为1
+        private final String firstImage;   // 第一张图片的地址，没有图片时为null
+
+        public Result(String plainText, int wordCount, int readingMinutes, String firstImage) {
+            this.plainText = plainText;
+            this.wordCount = wordCount;
+            this.readingMinutes = readingMinutes;
+            this.firstImage = firstImage;
+        }
+
+        public String getPlainText() {
+            return plainText;
+        }
+
+        public int getWordCount() {
+            return wordCount;
+        }
+
+        public int getReadingMinutes() {
+            return readingMinutes;
+        }
+
+        public String getFirstImage() {
+            return firstImage;
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.community.utils;
+
+import com.community.entity.ArticleContent;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文章正文编解码
+ *
+ * 正文以UTF-8编码后用原始 deflate（无zlib头）压缩，可使用预置字典：字典由已有正文中反复出现的片段组成，
+ * 短文章也能引用字典中的内容，压缩率明显高于单独压缩。很短或压缩后没有变小的正文按原文存放。
+ *
+ * 字典按ID注册，正文记录使用的字典ID，解码时取对应的字典。字典由其他实例在本实例启动后训练时，
+ * 解码遇到未注册的字典ID会通过 {@link #setDictionaryLoader} 设置的加载函数加载一次。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class ContentCodec {
+
+    public static final int CODEC_RAW = 0;
+    public static final int CODEC_DEFLATE = 1;
+
+    // 不使用字典
+    public static final int NO_DICTIONARY = 0;
+
+    // deflate 窗口为32KB，更长的字典没有意义
+    public static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+    // 小于该字节数的正文不压缩
+    private static final int MIN_COMPRESS_BYTES = 64;
+
+    // 训练字典时统计的片段长度，以及候选片段的长度和间隔
+    private static final int GRAM_BYTES = 8;
+    private static final int SEGMENT_BYTES = 64;
+    private static final int SEGMENT_STEP = 16;
+    private static final int COUNT_TABLE_BITS = 20;
+
+    private static final ConcurrentHashMap<Integer, byte[]> DICTIONARIES = new ConcurrentHashMap<>();
+
+    // 加载未注册的字典，同一时间只有一个线程加载
+    private static final Object LOAD_LOCK = new Object();
+    private static volatile IntFunction<byte[]> dictionaryLoader;
+
+    /**
+     * 注册字典，解码使用该字典的正文前必须先注册或设置加载函数
+     */
+    public static void registerDictionary(int id, byte[] dictionary) {
+        DICTIONARIES.put(id, dictionary);
+    }
+
+    /**
+     * 设置字典加载函数，解码时字典未注册则调用它（参数为字典ID，不存在时返回null）
+     */
+    public static void setDictionaryLoader(IntFunction<byte[]> loader) {
+        dictionaryLoader = loader;
+    }
+
+    /**
+     * 编码正文
+     *
+     * @param articleId 文章ID
+     * @param content 正文
+     * @param dictionaryId 使用的字典ID，为 {@link #NO_DICTIONARY} 或字典未注册时不使用字典
+     * @return 编码结果
+     */
+    public static ArticleContent encode(Long articleId, String content, int dictionaryId) {
+        byte[] raw = content.getBytes(StandardCharsets.UTF_8);
+        ArticleContent encoded = new ArticleContent();
+        encoded.setArticleId(articleId);
+        encoded.setRawLength(raw.length);
+        encoded.setCodec(CODEC_RAW);
+        encoded.setDictionaryId(NO_DICTIONARY);
+        encoded.setData(raw);
+        if (raw.length < MIN_COMPRESS_BYTES) {
+            return encoded;
+        }
+
+        byte[] dictionary = dictionaryId == NO_DICTIONARY ? null : DICTIONARIES.get(dictionaryId);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary);
+            }
+            deflater.setInput(raw);
+            deflater.finish();
+            // 压缩结果不小于原文时按原文存放，输出缓冲区不需要比原文大
+            byte[] buffer = new byte[raw.length];
+            int length = 0;
+            while (!deflater.finished() && length < buffer.length) {
+                length += deflater.deflate(buffer, length, buffer.length - length);
+            }
+            if (!deflater.finished()) {
+                return encoded;
+            }
+            encoded.setCodec(CODEC_DEFLATE);
+            encoded.setDictionaryId(dictionary == null ? NO_DICTIONARY : dictionaryId);
+            encoded.setData(Arrays.copyOf(buffer, length));
+            return encoded;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 解码正文
+     *
+     * @param content 编码结果
+     * @return 正文
+     * @throws IllegalStateException 编码未知、字典不存在或数据损坏
+     */
+    public static String decode(ArticleContent content) {
+        int codec = content.getCodec() == null ? CODEC_RAW : content.getCodec();
+        if (codec == CODEC_RAW) {
+            return new String(content.getData(), StandardCharsets.UTF_8);
+        }
+        if (codec != CODEC_DEFLATE) {
+            throw new IllegalStateException("未知的正文编码：" + codec);
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            int dictionaryId = content.getDictionaryId() == null ? NO_DICTIONARY : content.getDictionaryId();
+            if (dictionaryId != NO_DICTIONARY) {
+                byte[] dictionary = dictionary(dictionaryId);
+                if (dictionary == null) {
+                    throw new IllegalStateException("压缩字典未加载：" + dictionaryId);
+                }
+                inflater.setDictionary(dictionary);
+            }
+            inflater.setInput(content.getData());
+            byte[] raw = new byte[content.getRawLength()];
+            int length = 0;
+            while (length < raw.length) {
+                int count = inflater.inflate(raw, length, raw.length - length);
+                if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                length += count;
+            }
+            if (length != raw.length) {
+                throw new IllegalStateException("正文数据不完整：" + content.getArticleId());
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("正文数据损坏：" + content.getArticleId(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 取已注册的字典，未注册时加载（加载后仍不存在返回null）
+     */
+    private static byte[] dictionary(int id) {
+        byte[] dictionary = DICTIONARIES.get(id);
+        IntFunction<byte[]> loader = dictionaryLoader;
+        if (dictionary != null || loader == null) {
+            return dictionary;
+        }
+        synchronized (LOAD_LOCK) {
+            // 等待期间可能已被其他线程加载
+            dictionary = DICTIONARIES.get(id);
+            if (dictionary == null) {
+                dictionary = loader.apply(id);
+                if (dictionary != null) {
+                    DICTIONARIES.put(id, dictionary);
+                }
+            }
+            return dictionary;
+        }
+    }
+
+    /**
+     * 由样本正文训练字典
+     *
+     * 先统计每个8字节片段在样本中出现的次数（按哈希计数，允许少量冲突），再把样本切成有重叠的64字节候选段，
+     * 按段内片段的重复次数打分，取分数最高且互不重复的段拼成字典。分数最高的段放在字典末尾，
+     * 与正文的距离最近，引用时编码最短。
+     *
+     * @param samples 样本正文
+     * @param size 字典最大字节数，不超过 {@link #MAX_DICTIONARY_SIZE}
+     * @return 字典，样本中没有重复内容时为空数组
+     */
+    public static byte[] trainDictionary(List<String> samples, int size) {
+        size = Math.min(size, MAX_DICTIONARY_SIZE);
+        List<byte[]> texts = new ArrayList<>(samples.size());
+        for (String sample : samples) {
+            if (sample != null && sample.length() > 0) {
+                texts.add(sample.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int mask = (1 << COUNT_TABLE_BITS) - 1;
+        int[] counts = new int[1 << COUNT_TABLE_BITS];
+        for (byte[] text : texts) {
+            for (int i = 0; i + GRAM_BYTES <= text.length; i++) {
+                counts[gramHash(text, i) & mask]++;
+            }
+        }
+
+        // 最小堆，只保留分数最高的候选段
+        int capacity = size / SEGMENT_BYTES * 2 + 1;
+        PriorityQueue<Segment> best = new PriorityQueue<>(capacity, Comparator.comparingLong(s -> s.score));
+        for (byte[] text : texts) {
+            for (int start = 0; start + SEGMENT_BYTES <= text.length; start += SEGMENT_STEP) {
+                long score = 0;
+                for (int i = start; i + GRAM_BYTES <= start + SEGMENT_BYTES; i++) {
+                    // 只出现一次的片段没有压缩价值
+                    score += counts[gramHash(text, i) & mask] - 1;
+                }
+                if (score <= 0) {
+                    continue;
+                }
+                if (best.size() < capacity) {
+                    best.add(new Segment(text, start, score));
+                } else if (best.peek().score < score) {
+                    best.poll();
+                    best.add(new Segment(text, start, score));
+                }
+            }
+        }
+
+        // 按分数从高到低取段，跳过起始片段已选过的段（重叠或重复的内容）
+        List<Segment> ranked = new ArrayList<>(best);
+        ranked.sort(Comparator.comparingLong((Segment s) -> s.score).reversed());
+        Set<Integer> chosenGrams = new HashSet<>();
+        List<Segment> chosen = new ArrayList<>();
+        int total = 0;
+        for (Segment segment : ranked) {
+            if (total + SEGMENT_BYTES > size) {
+                break;
+            }
+            if (chosenGrams.add(gramHash(segment.text, segment.start))) {
+                chosen.add(segment);
+                total += SEGMENT_BYTES;
+            }
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(total);
+        for (int i = chosen.size() - 1; i >= 0; i--) {
+            Segment segment = chosen.get(i);
+            out.write(segment.text, segment.start, SEGMENT_BYTES);
+        }
+        return out.toByteArray();
+    }
+
+    private static int gramHash(byte[] data, int offset) {
+        int hash = 0;
+        for (int i = offset; i < offset + GRAM_BYTES; i++) {
+            hash = hash * 0x01000193 ^ data[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * 字典候选段
+     */
+    private static class Segment {
+
+        private final byte[] text;
+        private final int start;
+        private final long score;
+
+        Segment(byte[] text, int start, long score) {
+            this.text = text;
+            this.start = start;
+            this.score = score;
+        }
+    }
+}
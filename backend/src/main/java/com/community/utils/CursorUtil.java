@@ -0,0 +1,75 @@
+package com.community.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标工具类
+ * 
+ * 游标由 (created_at, id) 组成，编码为URL安全的Base64字符串，对客户端不透明。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class CursorUtil {
+    
+    private static final char SEPARATOR = '|';
+    
+    /**
+     * 编码游标
+     * 
+     * @param createdAt 创建时间
+     * @param id 文章ID
+     * @return 游标字符串
+     */
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * 解码游标
+     * 
+     * @param cursor 游标字符串
+     * @return 游标位置
+     */
+    public static Position decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index <= 0) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, index));
+            Long id = Long.valueOf(raw.substring(index + 1));
+            return new Position(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("无效的分页游标", e);
+        }
+    }
+    
+    /**
+     * 游标位置
+     */
+    public static class Position {
+        
+        private final LocalDateTime createdAt;
+        private final Long id;
+        
+        public Position(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+        
+        public LocalDateTime getCreatedAt() {
+            return createdAt;
+        }
+        
+        public Long getId() {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.community.utils;
+
+import com.community.dto.ArticleListItem;
+import com.community.entity.Article;
+import com.community.entity.User;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * ETag工具类
+ * 
+ * 单个资源的ETag由ID、版本号和 updated_at 生成；列表的ETag由集合版本号或列表中各元素的ID和 updated_at 生成。
+ * 浏览次数是计数器而非内容，不参与ETag计算。文章的派生字段（摘要、字数等）在发布后异步写回，不修改版本号，
+ * ETag中另外区分派生字段是否已写回。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class EtagUtil {
+    
+    /**
+     * 文章ETag
+     */
+    public static String article(Article article) {
+        return quote("a" + article.getId() + "-" + article.getVersion() + "-" + toMillis(article.getUpdatedAt())
+                + (article.getWordCount() == null ? "" : "-p"));
+    }
+    
+    /**
+     * 用户ETag
+     */
+    public static String user(User user) {
+        return quote("u" + user.getId() + "-" + user.getVersion() + "-" + toMillis(user.getUpdatedAt()));
+    }
+    
+    /**
+     * 按集合版本号生成的列表ETag
+     * 
+     * @param version 集合版本号
+     * @param variant 请求参数等区分同一集合不同视图的信息
+     */
+    public static String collection(String version, String variant) {
+        return quote("c" + version + "-" + Integer.toHexString(variant.hashCode()));
+    }
+    
+    /**
+     * 按列表内容生成的列表ETag
+     */
+    public static String articles(List<ArticleListItem> articles, String variant) {
+        long hash = variant.hashCode();
+        for (ArticleListItem article : articles) {
+            hash = 31 * hash + article.getId();
+            hash = 31 * hash + toMillis(article.getUpdatedAt());
+            hash = 31 * hash + (article.getVersion() == null ? 0 : article.getVersion());
+            hash = 31 * hash + (article.getWordCount() == null ? 0 : 1);
+        }
+        return quote("l" + articles.size() + "-" + Long.toHexString(hash));
+    }
+    
+    private static long toMillis(LocalDateTime time) {
+        return time == null ? 0 : time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+}
@@ -0,0 +1,336 @@
+package com.community.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * 本地缓存
+ * 
+ * 按容量（LRU）和存活时间淘汰。内部按key的哈希分段加锁，降低并发读写时的锁竞争。
+ * 
+ * 缓存未命中时从数据库加载的值可能在加载期间已被修改：先取 {@link #generation(Object)}，
+ * 加载后用 {@link #putIfUnchanged(Object, Object, long)} 写入，期间有过写入或移除时放弃，
+ * 避免旧值覆盖修改后写入的新值。
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class LocalCache<K, V> {
+    
+    private static final int SEGMENT_COUNT = 16;
+    // 写入代数的分片数，是 SEGMENT_COUNT 的倍数，同一分片的key一定属于同一段
+    private static final int GENERATION_STRIPES = 1024;
+    
+    private final String name;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Segment<K, V>[] segments;
+    // 按key哈希分片的写入代数，写入和移除时递增（由段锁保护）
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    
+    /**
+     * @param name 缓存名称（用于统计）
+     * @param maxSize 最大条目数
+     * @param ttlSeconds 存活时间（秒），小于等于0表示不过期
+     */
+    @SuppressWarnings("unchecked")
+    public LocalCache(String name, int maxSize, long ttlSeconds) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlSeconds > 0 ? ttlSeconds * 1_000_000_000L : 0;
+        this.segments = new Segment[SEGMENT_COUNT];
+        int segmentSize = Math.max(1, (maxSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentSize);
+        }
+    }
+    
+    /**
+     * 获取缓存值
+     * 
+     * @param key 键
+     * @return 缓存值，不存在或已过期时返回null
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(entry)) {
+                segment.map.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+    
+    /**
+     * 写入缓存
+     * 
+     * @param key 键
+     * @param value 值
+     */
+    public void put(K key, V value) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            generations.incrementAndGet(stripeFor(key));
+            store(segment, key, value);
+        }
+    }
+    
+    /**
+     * key存在时用函数的结果替换缓存值，保留原来的写入时间（不延长存活时间）；
+     * 不存在时不写入，但仍递增写入代数，使修改前开始的加载不会写入旧值
+     * 
+     * @param key 键
+     * @param function 由当前值计算新值，不能修改当前值（可能正被其他线程读取）
+     * @return 是否替换
+     */
+    public boolean update(K key, UnaryOperator<V> function) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            generations.incrementAndGet(stripeFor(key));
+            Entry<V> entry = segment.map.get(key);
+            if (entry == null || isExpired(entry)) {
+                return false;
+            }
+            segment.map.put(key, new Entry<>(function.apply(entry.value), entry.writeTime));
+            return true;
+        }
+    }
+    
+    /**
+     * 当前的写入代数，在从数据库加载之前获取
+     * 
+     * @param key 键
+     * @return 写入代数
+     */
+    public long generation(K key) {
+        return generations.get(stripeFor(key));
+    }
+    
+    /**
+     * 获取写入代数之后没有写入或移除（包括哈希到同一分片的其他key）时才写入缓存
+     * 
+     * @param key 键
+     * @param value 加载的值
+     * @param generation 加载前获取的写入代数
+     * @return 是否写入
+     */
+    public boolean putIfUnchanged(K key, V value, long generation) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            if (generations.get(stripeFor(key)) != generation) {
+                return false;
+            }
+            store(segment, key, value);
+            return true;
+        }
+    }
+    
+    /**
+     * 移除缓存
+     * 
+     * @param key 键
+     */
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            generations.incrementAndGet(stripeFor(key));
+            segment.map.remove(key);
+        }
+    }
+    
+    /**
+     * 移除满足条件的所有缓存
+     * 
+     * @param predicate 判断条件
+     */
+    public void invalidateIf(BiPredicate<K, V> predicate) {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment<K, V> segment = segments[i];
+            synchronized (segment) {
+                // 正在加载、尚未缓存的key也可能满足条件，整段的代数都递增
+                bumpGenerations(i);
+                segment.map.entrySet().removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+            }
+        }
+    }
+    
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            Segment<K, V> segment = segments[i];
+            synchronized (segment) {
+                bumpGenerations(i);
+                segment.map.clear();
+            }
+        }
+    }
+    
+    /**
+     * 当前条目数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+    
+    /**
+     * 获取统计信息
+     */
+    public Stats stats() {
+        return new Stats(name, size(), maxSize, hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+    
+    /**
+     * 获取多个缓存的统计信息
+     */
+    public static List<Stats> stats(LocalCache<?, ?>... caches) {
+        List<Stats> stats = new ArrayList<>();
+        for (LocalCache<?, ?> cache : caches) {
+            stats.add(cache.stats());
+        }
+        return stats;
+    }
+    
+    private boolean isExpired(Entry<V> entry) {
+        return ttlNanos > 0 && System.nanoTime() - entry.writeTime > ttlNanos;
+    }
+    
+    private Segment<K, V> segmentFor(K key) {
+        return segments[spread(key) & (SEGMENT_COUNT - 1)];
+    }
+    
+    private int stripeFor(K key) {
+        return spread(key) & (GENERATION_STRIPES - 1);
+    }
+    
+    private static int spread(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+    
+    /**
+     * 递增属于第 segmentIndex 段的所有分片的写入代数，调用方持有段锁
+     */
+    private void bumpGenerations(int segmentIndex) {
+        for (int stripe = segmentIndex; stripe < GENERATION_STRIPES; stripe += SEGMENT_COUNT) {
+            generations.incrementAndGet(stripe);
+        }
+    }
+    
+    private void store(Segment<K, V> segment, K key, V value) {
+        segment.map.put(key, new Entry<>(value, System.nanoTime()));
+        Iterator<Entry<V>> iterator = segment.map.values().iterator();
+        while (segment.map.size() > segment.capacity && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+    
+    private static class Segment<K, V> {
+        
+        private final int capacity;
+        private final LinkedHashMap<K, Entry<V>> map;
+        
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+        }
+    }
+    
+    private static class Entry<V> {
+        
+        private final V value;
+        private final long writeTime;
+        
+        Entry(V value, long writeTime) {
+            this.value = value;
+            this.writeTime = writeTime;
+        }
+    }
+    
+    /**
+     * 缓存统计信息
+     */
+    public static class Stats {
+        
+        private final String name;
+        private final int size;
+        private final int maxSize;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        
+        public Stats(String name, int size, int maxSize, long hits, long misses, long evictions, long expirations) {
+            this.name = name;
+            this.size = size;
+            this.maxSize = maxSize;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+        }
+        
+        public String getName() {
+            return name;
+        }
+        
+        public int getSize() {
+            return size;
+        }
+        
+        public int getMaxSize() {
+            return maxSize;
+        }
+        
+        public long getHits() {
+            return hits;
+        }
+        
+        public long getMisses() {
+            return misses;
+        }
+        
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+        
+        public long getEvictions() {
+            return evictions;
+        }
+        
+        public long getExpirations() {
+            return expirations;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.community.utils;
+
+/**
+ * long -> double 哈希表
+ *
+ * 开放寻址（线性探测），键和值分别存放在基本类型数组中，没有装箱和Entry对象，
+ * 适合存放大量文章ID -> 分数。键0单独存放。不支持删除，需要淘汰时用 {@link #retainIf} 重建。
+ * 非线程安全，由调用方加锁。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class LongDoubleHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    private boolean hasZeroKey;
+    private double zeroValue;
+
+    /**
+     * @param expectedSize 预计条目数
+     */
+    public LongDoubleHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * 获取值
+     *
+     * @param key 键
+     * @param defaultValue 不存在时返回的值
+     */
+    public double get(long key, double defaultValue) {
+        if (key == 0) {
+            return hasZeroKey ? zeroValue : defaultValue;
+        }
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key) {
+                return values[i];
+            }
+            if (k == 0) {
+                return defaultValue;
+            }
+        }
+    }
+
+    /**
+     * 设置值
+     */
+    public void put(long key, double value) {
+        if (key == 0) {
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                size++;
+            }
+            zeroValue = value;
+            return;
+        }
+        int i = findSlot(key);
+        if (keys[i] == 0) {
+            insertAt(i, key, value);
+        } else {
+            values[i] = value;
+        }
+    }
+
+    /**
+     * 在原值（不存在时为0）上累加
+     *
+     * @return 累加后的值
+     */
+    public double addTo(long key, double delta) {
+        if (key == 0) {
+            put(0, (hasZeroKey ? zeroValue : 0) + delta);
+            return zeroValue;
+        }
+        int i = findSlot(key);
+        if (keys[i] == 0) {
+            insertAt(i, key, delta);
+            return delta;
+        }
+        values[i] += delta;
+        return values[i];
+    }
+
+    /**
+     * 所有值乘以同一个系数
+     */
+    public void scale(double factor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                values[i] *= factor;
+            }
+        }
+        zeroValue *= factor;
+    }
+
+    /**
+     * 只保留满足条件的条目，并按剩余条目数重新分配数组
+     *
+     * @return 移除的条目数
+     */
+    public int retainIf(EntryPredicate predicate) {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        int oldSize = size;
+        boolean keepZero = hasZeroKey && predicate.test(0, zeroValue);
+
+        int kept = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0 && predicate.test(oldKeys[i], oldValues[i])) {
+                kept++;
+            } else {
+                oldKeys[i] = 0;
+            }
+        }
+        allocate(Integer.highestOneBit(Math.max(4, (int) (kept / LOAD_FACTOR)) - 1) << 1);
+        hasZeroKey = keepZero;
+        size = keepZero ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                insertAt(findSlot(oldKeys[i]), oldKeys[i], oldValues[i]);
+            }
+        }
+        return oldSize - size;
+    }
+
+    /**
+     * 遍历所有条目
+     */
+    public void forEach(EntryConsumer consumer) {
+        if (hasZeroKey) {
+            consumer.accept(0, zeroValue);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long key) {
+        // 乘法散列，取高位
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private int findSlot(long key) {
+        int i = slot(key);
+        while (keys[i] != 0 && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insertAt(int index, long key, double value) {
+        keys[index] = key;
+        values[index] = value;
+        size++;
+        if (size - (hasZeroKey ? 1 : 0) > resizeThreshold) {
+            rehash();
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        allocate(keys.length << 1);
+        size = hasZeroKey ? 1 : 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = findSlot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+                size++;
+            }
+        }
+    }
+
+    /**
+     * 条目遍历回调
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, double value);
+    }
+
+    /**
+     * 条目过滤条件
+     */
+    @FunctionalInterface
+    public interface EntryPredicate {
+        boolean test(long key, double value);
+    }
+}
@@ -0,0 +1,170 @@
+package com.community.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 预先编码、可替换一个整数字段的JSON字节
+ *
+ * 序列化时把该字段设为占位值，按占位值把UTF-8字节切成前后两段；输出时写前段、当前值、后段，
+ * 不需要重新序列化。
+ *
+ * 可选同时保存gzip格式：前段压缩后以 SYNC_FLUSH 结束（字节对齐），整数值写成一个不压缩的 stored block，
+ * 后段用新的 Deflater 单独压缩并作为最后一个块，最后拼上按实际内容计算的 CRC32 和长度。
+ * 三段拼起来是一个合法的gzip流，每次输出只需计算一遍CRC32，不需要重新压缩。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class PatchableJson {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final byte[] deflatedPrefix;
+    private final byte[] deflatedSuffix;
+
+    private PatchableJson(byte[] prefix, byte[] suffix, byte[] deflatedPrefix, byte[] deflatedSuffix) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.deflatedPrefix = deflatedPrefix;
+        this.deflatedSuffix = deflatedSuffix;
+    }
+
+    /**
+     * 按字段名和占位值切分
+     *
+     * @param json 序列化结果（UTF-8）
+     * @param field 字段名，取第一次出现的 "field":占位值
+     * @param placeholder 占位值
+     * @param gzip 是否同时保存gzip格式
+     * @return 找不到占位字段时返回null
+     */
+    public static PatchableJson split(byte[] json, String field, long placeholder, boolean gzip) {
+        byte[] marker = ("\"" + field + "\":" + placeholder).getBytes(StandardCharsets.UTF_8);
+        int index = indexOf(json, marker);
+        if (index < 0) {
+            return null;
+        }
+        int valueStart = index + marker.length - Long.toString(placeholder).length();
+        byte[] prefix = new byte[valueStart];
+        System.arraycopy(json, 0, prefix, 0, valueStart);
+        int suffixStart = index + marker.length;
+        byte[] suffix = new byte[json.length - suffixStart];
+        System.arraycopy(json, suffixStart, suffix, 0, suffix.length);
+        if (!gzip) {
+            return new PatchableJson(prefix, suffix, null, null);
+        }
+        return new PatchableJson(prefix, suffix, deflate(prefix, false), deflate(suffix, true));
+    }
+
+    public boolean hasGzip() {
+        return deflatedPrefix != null;
+    }
+
+    /**
+     * 未压缩输出的长度
+     */
+    public int length(long value) {
+        return prefix.length + digits(value).length + suffix.length;
+    }
+
+    /**
+     * gzip输出的长度
+     */
+    public int gzipLength(long value) {
+        // stored block 头部5字节，gzip 尾部8字节
+        return GZIP_HEADER.length + deflatedPrefix.length + 5 + digits(value).length + deflatedSuffix.length + 8;
+    }
+
+    /**
+     * 写出未压缩的JSON
+     */
+    public void writeTo(OutputStream out, long value) throws IOException {
+        out.write(prefix);
+        out.write(digits(value));
+        out.write(suffix);
+    }
+
+    /**
+     * 写出gzip压缩的JSON
+     */
+    public void writeGzipTo(OutputStream out, long value) throws IOException {
+        byte[] digits = digits(value);
+        CRC32 crc = new CRC32();
+        crc.update(prefix);
+        crc.update(digits);
+        crc.update(suffix);
+        int size = prefix.length + digits.length + suffix.length;
+
+        out.write(GZIP_HEADER);
+        out.write(deflatedPrefix);
+        // stored block：BFINAL=0、BTYPE=00，随后是 LEN 和 NLEN（小端）
+        out.write(0);
+        out.write(digits.length & 0xff);
+        out.write((digits.length >>> 8) & 0xff);
+        out.write(~digits.length & 0xff);
+        out.write((~digits.length >>> 8) & 0xff);
+        out.write(digits);
+        out.write(deflatedSuffix);
+        writeIntLe(out, (int) crc.getValue());
+        writeIntLe(out, size);
+    }
+
+    /**
+     * 原始 deflate 压缩（无zlib头）
+     *
+     * @param last 是否为最后一段：是则压缩到流结束，否则以 SYNC_FLUSH 结束（字节对齐，流未结束）
+     */
+    private static byte[] deflate(byte[] data, boolean last) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            if (last) {
+                deflater.finish();
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 3));
+            byte[] buffer = new byte[8192];
+            while (true) {
+                int count = deflater.deflate(buffer, 0, buffer.length, last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+                out.write(buffer, 0, count);
+                // SYNC_FLUSH 填满缓冲区时可能还有输出
+                if (last ? deflater.finished() : count < buffer.length) {
+                    break;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] digits(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static void writeIntLe(OutputStream out, int value) throws IOException {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+        out.write((value >>> 16) & 0xff);
+        out.write((value >>> 24) & 0xff);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
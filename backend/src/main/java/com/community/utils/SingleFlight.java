@@ -0,0 +1,186 @@
+package com.community.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 合并同一个key的并发加载
+ *
+ * 同一个key同时只有一个线程执行加载函数（通常是一次数据库查询），期间到达的其他线程等待并共享它的结果，
+ * 加载函数抛出的异常也会抛给所有等待的线程。加载结束后立即移除，之后的调用重新加载，因此不缓存结果，
+ * 通常放在本地缓存未命中的路径上，避免热点数据失效时大量请求同时查询数据库。
+ *
+ * 等待的线程最多等待 timeoutMs 毫秒，超时抛出 {@link LoadTimeoutException}，执行加载的线程不受影响。
+ *
+ * @author Community Team
+ * @version 1.0
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final long timeoutMs;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    /**
+     * @param name 名称（用于统计）
+     * @param timeoutMs 等待其他线程加载的最长时间（毫秒）
+     */
+    public SingleFlight(String name, long timeoutMs) {
+        this.name = name;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 加载key对应的值，已有线程在加载同一个key时等待它的结果
+     *
+     * @param key 键
+     * @param loader 加载函数，可以返回null
+     * @return 加载结果
+     * @throws LoadTimeoutException 等待其他线程加载超时或被中断
+     */
+    public V load(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            shared.increment();
+            return await(key, existing);
+        }
+
+        loads.increment();
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 放弃key正在进行的加载，之后的调用重新加载，已在等待的线程仍然得到原来的结果；
+     * 数据修改后调用，避免修改后到达的请求拿到修改前开始的查询结果。
+     * 正在执行的加载函数不会被中断，它写入缓存等副作用需要自行判断（例如 {@link LocalCache#putIfUnchanged}）
+     *
+     * @param key 键
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * 获取统计信息
+     */
+    public Stats stats() {
+        return new Stats(name, inFlight.size(), loads.sum(), shared.sum(), failures.sum(), timeouts.sum());
+    }
+
+    /**
+     * 获取多个实例的统计信息
+     */
+    public static List<Stats> stats(SingleFlight<?, ?>... flights) {
+        List<Stats> stats = new ArrayList<>();
+        for (SingleFlight<?, ?> flight : flights) {
+            stats.add(flight.stats());
+        }
+        return stats;
+    }
+
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new LoadTimeoutException(name + " 加载超时：" + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTimeoutException(name + " 等待加载时被中断：" + key);
+        }
+    }
+
+    /**
+     * 等待其他线程加载超时
+     */
+    public static class LoadTimeoutException extends RuntimeException {
+
+        public LoadTimeoutException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * 合并加载统计信息
+     */
+    public static class Stats {
+
+        private final String name;
+        private final int inFlight;    // 正在进行的加载数
+        private final long loads;      // 实际执行加载函数的次数
+        private final long shared;     // 等待并共享其他线程结果的调用次数
+        private final long failures;
+        private final long timeouts;
+
+        public Stats(String name, int inFlight, long loads, long shared, long failures, long timeouts) {
+            this.name = name;
+            this.inFlight = inFlight;
+            this.loads = loads;
+            this.shared = shared;
+            this.failures = failures;
+            this.timeouts = timeouts;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public long getShared() {
+            return shared;
+        }
+
+        public double getSharedRate() {
+            long total = loads + shared;
+            return total == 0 ? 0 : (double) shared / total;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+    }
+}
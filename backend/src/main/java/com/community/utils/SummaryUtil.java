@@ -0,0 +1,25 @@
+package com.community.utils;
+
+/**
+ * 文章摘要工具类
+ * 
+ * @author Community Team
+ * @version 1.0
+ */
+public class SummaryUtil {
+    
+    private static final int SUMMARY_LENGTH = 100;
+    
+    /**
+     * 根据纯文本生成摘要（取前100个字符，按码点截取，不会拆开代理对）
+     * 
+     * @param text 纯文本，由 {@link ContentAnalyzer#analyze} 从正文中提取
+     * @return 摘要
+     */
+    public static String generate(String text) {
+        if (text.codePointCount(0, text.length()) > SUMMARY_LENGTH) {
+            return text.substring(0, text.offsetByCodePoints(0, SUMMARY_LENGTH)) + "...";
+        }
+        return text;
+    }
+}
@@ -0,0 +1,67 @@
+-- 本地演示用的H2表结构和测试数据（对应 database/init.sql），每次建立连接时执行，需要可重复执行
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    email VARCHAR(100) UNIQUE NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    avatar VARCHAR(255),
+    bio TEXT,
+    version INT NOT NULL DEFAULT 0,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS articles (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    title VARCHAR(200) NOT NULL,
+    content LONGTEXT,
+    summary TEXT,
+    author_id BIGINT NOT NULL,
+    status VARCHAR(20) DEFAULT 'DRAFT',
+    view_count INT DEFAULT 0,
+    version INT NOT NULL DEFAULT 0,
+    word_count INT,
+    reading_minutes INT,
+    cover_image VARCHAR(500),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS article_contents (
+    article_id BIGINT PRIMARY KEY,
+    codec TINYINT NOT NULL,
+    dictionary_id INT NOT NULL DEFAULT 0,
+    raw_length INT NOT NULL,
+    data BLOB NOT NULL,
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS content_dictionaries (
+    id INT PRIMARY KEY,
+    data BLOB NOT NULL,
+    sample_count INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS author_stats (
+    user_id BIGINT PRIMARY KEY,
+    article_count INT NOT NULL DEFAULT 0,
+    published_count INT NOT NULL DEFAULT 0,
+    total_views BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_articles_author_id ON articles(author_id);
+CREATE INDEX IF NOT EXISTS idx_articles_status_created_at ON articles(status, created_at, id);
+
+-- 密码均为 123456
+MERGE INTO users (id, username, email, password, bio) KEY (id) VALUES
+(1, 'admin', 'admin@example.com', 'e10adc3949ba59abbe56e057f20f883e', '系统管理员'),
+(2, 'testuser', 'test@example.com', 'e10adc3949ba59abbe56e057f20f883e', '测试用户');
+
+MERGE INTO articles (id, title, content, summary, author_id, status) KEY (id) VALUES
+(1, '欢迎来到交流社区', '这是我们社区的第一篇文章，欢迎大家积极参与讨论和分享。', '欢迎文章', 1, 'PUBLISHED'),
+(2, '如何使用本平台', '本文将介绍如何在我们的平台上发布文章和进行交流。', '使用指南', 1, 'PUBLISHED');
@@ -12,6 +12,7 @@ CREATE TABLE IF NOT EXISTS users (
     password VARCHAR(255) NOT NULL COMMENT '密码（加密后）',
     avatar VARCHAR(255) COMMENT '头像URL',
     bio TEXT COMMENT '个人简介',
+    version INT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间'
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='用户表';
@@ -20,26 +21,63 @@ CREATE TABLE IF NOT EXISTS users (
 CREATE TABLE IF NOT EXISTS articles (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     title VARCHAR(200) NOT NULL COMMENT '文章标题',
-    content LONGTEXT NOT NULL COMMENT '文章内容',
+    content LONGTEXT COMMENT '旧版正文（迁移到 article_contents 后清空）',
     summary TEXT COMMENT '文章摘要',
     author_id BIGINT NOT NULL COMMENT '作者ID',
     status ENUM('DRAFT', 'PUBLISHED') DEFAULT 'DRAFT' COMMENT '文章状态',
     view_count INT DEFAULT 0 COMMENT '浏览次数',
+    version INT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）',
+    word_count INT COMMENT '字数（发布后异步计算，NULL表示尚未计算）',
+    reading_minutes INT COMMENT '预计阅读分钟数',
+    cover_image VARCHAR(500) COMMENT '封面图（正文中的第一张图片）',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章表';
 
+-- 文章正文表（正文压缩后与文章元数据分开存放）
+CREATE TABLE IF NOT EXISTS article_contents (
+    article_id BIGINT PRIMARY KEY COMMENT '文章ID',
+    codec TINYINT NOT NULL COMMENT '编码：0 UTF-8原文，1 deflate',
+    dictionary_id INT NOT NULL DEFAULT 0 COMMENT '压缩字典ID，0表示不使用字典',
+    raw_length INT NOT NULL COMMENT '原文UTF-8字节数',
+    data LONGBLOB NOT NULL COMMENT '编码后的正文',
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章正文表';
+
+-- 正文压缩字典（由已有正文训练，只增不改）
+CREATE TABLE IF NOT EXISTS content_dictionaries (
+    id INT PRIMARY KEY COMMENT '字典ID',
+    data BLOB NOT NULL COMMENT '字典内容',
+    sample_count INT NOT NULL COMMENT '训练使用的文章数',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='正文压缩字典';
+
+-- 作者统计表（由应用增量维护并定期与 articles 表校对）
+CREATE TABLE IF NOT EXISTS author_stats (
+    user_id BIGINT PRIMARY KEY COMMENT '作者ID',
+    article_count INT NOT NULL DEFAULT 0 COMMENT '文章数（含草稿）',
+    published_count INT NOT NULL DEFAULT 0 COMMENT '已发布文章数',
+    total_views BIGINT NOT NULL DEFAULT 0 COMMENT '文章总浏览次数',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='作者统计表';
+
 -- 创建索引
 CREATE INDEX idx_articles_author_id ON articles(author_id);
 CREATE INDEX idx_articles_status ON articles(status);
 CREATE INDEX idx_articles_created_at ON articles(created_at);
+CREATE INDEX idx_articles_status_created_at ON articles(status, created_at, id);
 
 -- 插入测试数据
 INSERT INTO users (username, email, password, bio) VALUES 
 ('admin', 'admin@example.com', MD5('123456'), '系统管理员'),
 ('testuser', 'test@example.com', MD5('123456'), '测试用户');
 
+-- 测试文章的正文在应用启动后由后台任务迁移到 article_contents
 INSERT INTO articles (title, content, summary, author_id, status) VALUES 
 ('欢迎来到交流社区', '这是我们社区的第一篇文章，欢迎大家积极参与讨论和分享。', '欢迎文章', 1, 'PUBLISHED'),
 ('如何使用本平台', '本文将介绍如何在我们的平台上发布文章和进行交流。', '使用指南', 1, 'PUBLISHED');
+
+INSERT INTO author_stats (user_id, article_count, published_count, total_views)
+SELECT author_id, COUNT(*), SUM(status = 'PUBLISHED'), SUM(view_count) FROM articles GROUP BY author_id;
@@ -0,0 +1,53 @@
+-- 交流社区数据库升级脚本
+-- 已有数据库按顺序执行以下语句，新建数据库直接使用 init.sql
+
+USE community;
+
+-- 游标分页索引
+CREATE INDEX idx_articles_status_created_at ON articles(status, created_at, id);
+
+-- 乐观锁版本号
+ALTER TABLE users ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）' AFTER bio;
+ALTER TABLE articles ADD COLUMN version INT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）' AFTER view_count;
+
+-- 作者统计表
+CREATE TABLE IF NOT EXISTS author_stats (
+    user_id BIGINT PRIMARY KEY COMMENT '作者ID',
+    article_count INT NOT NULL DEFAULT 0 COMMENT '文章数（含草稿）',
+    published_count INT NOT NULL DEFAULT 0 COMMENT '已发布文章数',
+    total_views BIGINT NOT NULL DEFAULT 0 COMMENT '文章总浏览次数',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='作者统计表';
+
+INSERT INTO author_stats (user_id, article_count, published_count, total_views)
+SELECT author_id, COUNT(*), SUM(status = 'PUBLISHED'), SUM(view_count) FROM articles GROUP BY author_id
+ON DUPLICATE KEY UPDATE article_count = VALUES(article_count), published_count = VALUES(published_count),
+                        total_views = VALUES(total_views);
+
+-- 文章正文单独存放（应用启动后由后台任务把 articles.content 压缩迁移到 article_contents，迁移完成的行 content 为NULL）
+CREATE TABLE IF NOT EXISTS article_contents (
+    article_id BIGINT PRIMARY KEY COMMENT '文章ID',
+    codec TINYINT NOT NULL COMMENT '编码：0 UTF-8原文，1 deflate',
+    dictionary_id INT NOT NULL DEFAULT 0 COMMENT '压缩字典ID，0表示不使用字典',
+    raw_length INT NOT NULL COMMENT '原文UTF-8字节数',
+    data LONGBLOB NOT NULL COMMENT '编码后的正文',
+    FOREIGN KEY (article_id) REFERENCES articles(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='文章正文表';
+
+CREATE TABLE IF NOT EXISTS content_dictionaries (
+    id INT PRIMARY KEY COMMENT '字典ID',
+    data BLOB NOT NULL COMMENT '字典内容',
+    sample_count INT NOT NULL COMMENT '训练使用的文章数',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='正文压缩字典';
+
+ALTER TABLE articles MODIFY COLUMN content LONGTEXT COMMENT '旧版正文（迁移到 article_contents 后清空）';
+
+-- 迁移完成后（SELECT COUNT(*) FROM articles WHERE content IS NOT NULL 为0）可以重建表回收空间
+-- OPTIMIZE TABLE articles;
+
+-- 文章派生字段（由发布后处理流水线计算；升级后调用 POST /api/admin/articles/reprocess 回填已有文章）
+ALTER TABLE articles ADD COLUMN word_count INT COMMENT '字数（发布后异步计算，NULL表示尚未计算）' AFTER version;
+ALTER TABLE articles ADD COLUMN reading_minutes INT COMMENT '预计阅读分钟数' AFTER word_count;
+ALTER TABLE articles ADD COLUMN cover_image VARCHAR(500) COMMENT '封面图（正文中的第一张图片）' AFTER reading_minutes;
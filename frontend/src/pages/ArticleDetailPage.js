@@ -99,6 +99,12 @@ const ArticleDetailPage = () => {
                 <EyeOutlined />
                 <Text type="secondary">{article.viewCount} 次浏览</Text>
               </Space>
+              {article.readingMinutes > 0 && (
+                <>
+                  <Text type="secondary">•</Text>
+                  <Text type="secondary">{article.wordCount} 字，约 {article.readingMinutes} 分钟读完</Text>
+                </>
+              )}
             </Space>
             
             <Space>
@@ -60,10 +60,20 @@ const EditArticlePage = () => {
   const onFinish = async (values) => {
     setLoading(true);
     try {
-      const response = await articleService.updateArticle(id, values);
+      const response = await articleService.updateArticle(id, { ...values, version: article.version });
       if (response.success) {
         message.success('文章更新成功');
         navigate(`/articles/${id}`);
+      } else if (response.code === 409) {
+        // 文章已被修改，加载最新内容后重新编辑
+        const latest = response.data;
+        setArticle(latest);
+        form.setFieldsValue({
+          title: latest.title,
+          summary: latest.summary,
+          content: latest.content,
+        });
+        message.warning(response.message);
       } else {
         message.error(response.message);
       }
@@ -12,11 +12,31 @@ const HomePage = () => {
 
   useEffect(() => {
     fetchArticles();
+
+    // 订阅新发布的文章，断线重连后重新拉取一次列表补上断线期间的文章
+    const source = articleService.subscribePublished();
+    let reconnecting = false;
+    source.addEventListener('article-published', (event) => {
+      const article = JSON.parse(event.data);
+      setArticles((current) => [article, ...current.filter((item) => item.id !== article.id)]);
+    });
+    source.onerror = () => {
+      reconnecting = true;
+    };
+    source.onopen = () => {
+      if (reconnecting) {
+        reconnecting = false;
+        fetchArticles(true);
+      }
+    };
+    return () => source.close();
   }, []);
 
-  const fetchArticles = async () => {
+  const fetchArticles = async (silent = false) => {
     try {
-      setLoading(true);
+      if (!silent) {
+        setLoading(true);
+      }
       const response = await articleService.getPublishedArticles();
       if (response.success) {
         setArticles(response.data);
@@ -94,7 +114,7 @@ const HomePage = () => {
                         ellipsis={{ rows: 3 }}
                         style={{ marginBottom: '8px' }}
                       >
-                        {article.summary || article.content}
+                        {article.summary}
                       </Paragraph>
                       <div style={{ display: 'flex', justifyContent: 'space-between', alignItems: 'center' }}>
                         <Text type="secondary">
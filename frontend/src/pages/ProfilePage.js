@@ -1,5 +1,5 @@
 import React, { useState, useEffect } from 'react';
-import { Card, Form, Input, Button, Typography, Avatar, List, Tag, Space, message, Tabs } from 'antd';
+import { Card, Form, Input, Button, Typography, Avatar, List, Tag, Space, message, Tabs, Row, Col, Statistic } from 'antd';
 import { UserOutlined, EditOutlined, CalendarOutlined, EyeOutlined } from '@ant-design/icons';
 import { Link, useNavigate } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
@@ -14,6 +14,7 @@ const ProfilePage = () => {
   const [loading, setLoading] = useState(false);
   const [articles, setArticles] = useState([]);
   const [articlesLoading, setArticlesLoading] = useState(false);
+  const [stats, setStats] = useState(null);
   const { user, updateUser, isAuthenticated } = useAuth();
   const navigate = useNavigate();
 
@@ -31,9 +32,21 @@ const ProfilePage = () => {
         avatar: user.avatar,
       });
       fetchMyArticles();
+      fetchStats();
     }
   }, [user, isAuthenticated, navigate, form]);
 
+  const fetchStats = async () => {
+    try {
+      const response = await userService.getUserStats(user.username);
+      if (response.success) {
+        setStats(response.data);
+      }
+    } catch (error) {
+      // 统计获取失败时不显示
+    }
+  };
+
   const fetchMyArticles = async () => {
     try {
       setArticlesLoading(true);
@@ -56,11 +69,16 @@ const ProfilePage = () => {
       const response = await userService.updateProfile({
         avatar: values.avatar,
         bio: values.bio,
+        version: user.version,
       });
       
       if (response.success) {
         updateUser(response.data);
         message.success('个人资料更新成功');
+      } else if (response.code === 409) {
+        // 资料已被修改，显示最新资料
+        updateUser(response.data);
+        message.warning(response.message);
       } else {
         message.error(response.message);
       }
@@ -90,6 +108,19 @@ const ProfilePage = () => {
         />
         <Title level={3}>{user.username}</Title>
         <Text type="secondary">{user.email}</Text>
+        {stats && (
+          <Row gutter={16} style={{ marginTop: '24px' }}>
+            <Col span={8}>
+              <Statistic title="文章" value={stats.articleCount} />
+            </Col>
+            <Col span={8}>
+              <Statistic title="已发布" value={stats.publishedCount} />
+            </Col>
+            <Col span={8}>
+              <Statistic title="总浏览" value={stats.totalViews} />
+            </Col>
+          </Row>
+        )}
       </div>
 
       <Form
@@ -170,7 +201,7 @@ const ProfilePage = () => {
               description={
                 <div>
                   <Text type="secondary" ellipsis>
-                    {article.summary || article.content}
+                    {article.summary}
                   </Text>
                   <div style={{ marginTop: '8px' }}>
                     <Space>
@@ -6,6 +6,11 @@ export const articleService = {
     return api.get('/articles');
   },
 
+  // 游标分页获取已发布的文章
+  getPublishedArticlesPage: (limit, after) => {
+    return api.get('/articles', { params: { limit, after } });
+  },
+
   // 根据ID获取文章详情
   getArticleById: (id) => {
     return api.get(`/articles/${id}`);
@@ -34,5 +39,10 @@ export const articleService = {
   // 删除文章
   deleteArticle: (id) => {
     return api.delete(`/articles/${id}`);
+  },
+
+  // 订阅新发布文章的推送（Server-Sent Events），调用方负责 close
+  subscribePublished: () => {
+    return new EventSource(`${api.defaults.baseURL}/articles/stream`, { withCredentials: true });
   }
 };
@@ -29,5 +29,10 @@ export const userService = {
   // 根据用户名获取用户信息
   getUserByUsername: (username) => {
     return api.get(`/users/${username}`);
+  },
+
+  // 获取作者的文章数、已发布文章数和总浏览次数
+  getUserStats: (username) => {
+    return api.get(`/users/${username}/stats`);
   }
 };